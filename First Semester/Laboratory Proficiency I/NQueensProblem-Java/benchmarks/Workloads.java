@@ -0,0 +1,132 @@
+import java.util.function.LongSupplier;
+
+// Benchmark workloads, built here because the solver lives in the default package and JMH
+// benchmarks cannot. Each factory sets up its state once and returns one operation; the
+// benchmarks in bench/ look the factories up by name and time only getAsLong().
+// Every operation returns a value that depends on its work so JMH can consume it.
+public final class Workloads
+{
+    private Workloads()
+    {
+    }
+
+    // Full recount of one shuffled genome.
+    public static LongSupplier computeConflicts(final int boardSize, final long seed)
+    {
+        Chromosome chromosome = shuffled(boardSize, new Randomizer(seed));
+
+        return () -> {
+            chromosome.computeConflicts();
+            return chromosome.conflicts();
+        };
+    }
+
+    // One crossover of two shuffled parents with the given PermutationCrossover operator. The
+    // result reads a gene of each child rather than scoring them, which would time a recount.
+    public static LongSupplier crossover(final int boardSize, final int operator, final long seed)
+    {
+        Randomizer random = new Randomizer(seed);
+        Population parents = population(2, boardSize, random);
+        PermutationCrossover crossover = new PermutationCrossover(boardSize, new Parameters().pbcMax());
+        Chromosome child1 = new Chromosome(boardSize);
+        Chromosome child2 = new Chromosome(boardSize);
+
+        return () -> {
+            crossover.cross(operator, parents, 0, 1, child1, child2, random);
+            return (long)child1.data(0) << 32 | child2.data(boardSize - 1);
+        };
+    }
+
+    // Roulette selection of half the population, wheel build included, on the calling thread.
+    public static LongSupplier rouletteSelection(final int populationSize, final int boardSize, final long seed)
+    {
+        Randomizer random = new Randomizer(seed);
+        Population population = population(populationSize, boardSize, random);
+        PopulationTasks tasks = new PopulationTasks(1);
+        EpochStatistics statistics = tasks.statistics(population);
+        SelectionStrategy selection = new RouletteSelection();
+        int parents[] = new int[populationSize / 2];
+
+        return () -> {
+            selection.select(population, statistics, tasks, random, parents, parents.length);
+            return parents[0] + parents[parents.length - 1];
+        };
+    }
+
+    // Scores a whole population in one BatchEvaluator pass. vector falls back to scalar when
+    // the JVM lacks jdk.incubator.vector, so compare the two only in a fork that has it.
+    public static LongSupplier batchEvaluation(final int populationSize, final int boardSize, final boolean vector, final long seed)
+    {
+        Population population = population(populationSize, boardSize, new Randomizer(seed));
+        BatchEvaluator evaluator = BatchEvaluator.create(boardSize, vector);
+
+        return () -> {
+            evaluator.evaluate(population, 0, populationSize);
+            return population.conflicts(0);
+        };
+    }
+
+    // One exchange mutation, which keeps the diagonal counters current as it swaps.
+    public static LongSupplier exchangeMutation(final int boardSize, final long seed)
+    {
+        Randomizer random = new Randomizer(seed);
+        NQueen solver = new NQueen(inlineParameters(boardSize), random.split());
+        Chromosome chromosome = shuffled(boardSize, random);
+
+        return () -> {
+            solver.exchangeMutation(chromosome, 1);
+            return chromosome.conflicts();
+        };
+    }
+
+    // One nextEpoch() of a solver whose population starts at populationSize and may grow to
+    // twice that. Passes run inline so the number does not depend on the machine's core count.
+    public static LongSupplier epoch(final int boardSize, final int populationSize, final long seed)
+    {
+        Parameters parameters = inlineParameters(boardSize);
+
+        parameters.startSize(populationSize);
+        parameters.maxPopulation(2 * populationSize);
+        parameters.minSelect(populationSize / 10);
+        parameters.maxSelect(populationSize / 2);
+        parameters.offspringPerGeneration(populationSize / 4);
+        final NQueen solver = new NQueen(parameters, new Randomizer(seed));
+        solver.initialize();
+
+        return () -> {
+            solver.nextEpoch();
+            return solver.statistics().minimum();
+        };
+    }
+
+    private static Parameters inlineParameters(final int boardSize)
+    {
+        Parameters parameters = new Parameters();
+
+        parameters.boardSize(boardSize);
+        parameters.parallelism(1);
+        return parameters;
+    }
+
+    private static Chromosome shuffled(final int boardSize, final Randomizer random)
+    {
+        Chromosome chromosome = new Chromosome(boardSize);
+
+        for(int i = boardSize - 1; i > 0; i--)
+        {
+            chromosome.swap(i, random.nextInt(i + 1));
+        }
+        return chromosome;
+    }
+
+    private static Population population(final int size, final int boardSize, final Randomizer random)
+    {
+        Population population = new Population(boardSize, size);
+
+        for(int i = 0; i < size; i++)
+        {
+            shuffled(boardSize, random).store(population, population.add());
+        }
+        return population;
+    }
+}
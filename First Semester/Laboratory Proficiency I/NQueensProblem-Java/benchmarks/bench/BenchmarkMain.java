@@ -0,0 +1,25 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point of benchmarks.jar. Takes the usual JMH command line and always adds the GC
+// profiler, so every result comes with its allocation rate (gc.alloc.rate.norm is bytes per
+// operation; the hot paths should report close to zero).
+//   java -jar target/benchmarks.jar Crossover -p boardSize=1000
+public class BenchmarkMain
+{
+    public static void main(String[] args) throws Exception
+    {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        new Runner(options).run();
+        return;
+    }
+}
@@ -0,0 +1,47 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One PermutationCrossover.cross() producing two children. operator is the PermutationCrossover
+// constant: 0 partially mapped, 1 position based, 2 order, 3 cycle.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrossoverBenchmark
+{
+    @Param({"10", "1000", "100000"})
+    public int boardSize;
+
+    @Param({"0", "1", "2", "3"})
+    public int operator;
+
+    private LongSupplier mWorkload;
+
+    @Setup
+    public void setup()
+    {
+        mWorkload = Workload.of("crossover", boardSize, operator, 42L);
+    }
+
+    @Benchmark
+    public long cross()
+    {
+        return mWorkload.getAsLong();
+    }
+}
@@ -0,0 +1,47 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A whole NQueen.nextEpoch(): selection, mating, mutation and survivor selection. The
+// population fills to twice populationSize during warm-up and is measured at that size.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpochBenchmark
+{
+    @Param({"10", "100", "1000"})
+    public int boardSize;
+
+    @Param({"100", "1000", "10000"})
+    public int populationSize;
+
+    private LongSupplier mWorkload;
+
+    @Setup
+    public void setup()
+    {
+        mWorkload = Workload.of("epoch", boardSize, populationSize, 42L);
+    }
+
+    @Benchmark
+    public long nextEpoch()
+    {
+        return mWorkload.getAsLong();
+    }
+}
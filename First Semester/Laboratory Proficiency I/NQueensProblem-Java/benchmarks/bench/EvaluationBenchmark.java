@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// BatchEvaluator over a whole population, Vector API against scalar counting. The fork adds
+// the incubator module so the vector side really is vectorized.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class EvaluationBenchmark
+{
+    @Param({"8", "16", "32", "64"})
+    public int boardSize;
+
+    @Param({"1000", "10000"})
+    public int populationSize;
+
+    @Param({"true", "false"})
+    public boolean vector;
+
+    private LongSupplier mWorkload;
+
+    @Setup
+    public void setup()
+    {
+        mWorkload = Workload.of("batchEvaluation", populationSize, boardSize, vector, 42L);
+    }
+
+    @Benchmark
+    public long evaluate()
+    {
+        return mWorkload.getAsLong();
+    }
+}
@@ -0,0 +1,28 @@
+package bench;
+
+import java.lang.reflect.Method;
+import java.util.function.LongSupplier;
+
+// Looks up a factory on the default-package Workloads class. Reflection is only used in
+// @Setup; the measured call is a plain LongSupplier.getAsLong().
+final class Workload
+{
+    private Workload()
+    {
+    }
+
+    static LongSupplier of(final String name, final Object... arguments)
+    {
+        try{
+            for(Method method : Class.forName("Workloads").getMethods())
+            {
+                if(method.getName().equals(name) && method.getParameterCount() == arguments.length){
+                    return (LongSupplier)method.invoke(null, arguments);
+                }
+            }
+        }catch(ReflectiveOperationException e){
+            throw new IllegalStateException("Cannot build workload " + name, e);
+        }
+        throw new IllegalArgumentException("No workload named " + name);
+    }
+}
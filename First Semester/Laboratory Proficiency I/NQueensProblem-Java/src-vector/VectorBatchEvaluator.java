@@ -0,0 +1,107 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Batch scoring with the incubating Vector API, one genome per lane. Diagonal counting is a
+// scatter into counters, which lanes cannot share, so this counts attacking pairs instead:
+// queens in columns i < k attack when |row k - row i| == k - i, and each such pair adds 2,
+// the same total as the counters. A block of lane-count genomes is transposed so that
+// column i of every genome sits in one vector; each (i, k) pair is then one subtract, abs,
+// compare and masked add for the whole block: N(N - 1) / 2 steps per block of lanes genomes,
+// against N counter updates per genome. So pairs are only used while (N - 1) / 2 <= lanes,
+// i.e. on the narrow boards the GA evolves; wider boards go to the scalar counters.
+// Lives in src-vector and is compiled with --add-modules jdk.incubator.vector;
+// BatchEvaluator.create() loads it by name so the rest of the solver never links to it.
+public class VectorBatchEvaluator implements BatchEvaluator
+{
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final int mLength;
+    private final int mLanes;
+    private final boolean mPairwise;                             // Board narrow enough for pairs to beat counters.
+    private final int mGenes[];                                  // One genome, as copied out of the population.
+    private final int mBlock[];                                  // mBlock[i * mLanes + lane] = row of column i in genome lane.
+    private final int mPairs[];                                  // Attacking pairs per lane.
+    private final ScalarBatchEvaluator mScalar;
+
+    public VectorBatchEvaluator(final int length)
+    {
+        this.mLength = length;
+        this.mLanes = SPECIES.length();
+        this.mPairwise = (length - 1) / 2 <= this.mLanes;
+        this.mGenes = new int[length];
+        this.mBlock = new int[length * this.mLanes];
+        this.mPairs = new int[this.mLanes];
+        this.mScalar = new ScalarBatchEvaluator(length);
+        return;
+    }
+
+    @Override
+    public void evaluate(final Population population, final int from, final int to)
+    {
+        int count = 0;
+
+        if(mPairwise == false){
+            mScalar.evaluate(population, from, to);
+            return;
+        }
+
+        for(int start = from; start < to; start += mLanes)
+        {
+            count = Math.min(mLanes, to - start);
+            load(population, start, count);
+            attackingPairs();
+            for(int lane = 0; lane < count; lane++)
+            {
+                population.conflicts(start + lane, 2 * mPairs[lane]);
+            }
+        }
+        return;
+    }
+
+    @Override
+    public String description()
+    {
+        if(mPairwise == false){
+            return "scalar (too wide for " + mLanes + " vector lanes)";
+        }
+        return "vector (" + mLanes + " lanes)";
+    }
+
+    // Transposes count genomes into mBlock. Unused lanes repeat the last genome and are ignored.
+    private void load(final Population population, final int start, final int count)
+    {
+        for(int lane = 0; lane < mLanes; lane++)
+        {
+            if(lane < count){
+                population.copyGenesTo(start + lane, mGenes);
+            }
+            for(int i = 0; i < mLength; i++)
+            {
+                mBlock[i * mLanes + lane] = mGenes[i];
+            }
+        }
+        return;
+    }
+
+    private void attackingPairs()
+    {
+        IntVector pairs = IntVector.zero(SPECIES);
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        IntVector column = null;
+
+        for(int i = 0; i < mLength - 1; i++)
+        {
+            column = IntVector.fromArray(SPECIES, mBlock, i * mLanes);
+            for(int k = i + 1; k < mLength; k++)
+            {
+                pairs = pairs.add(one, IntVector.fromArray(SPECIES, mBlock, k * mLanes)
+                                                .sub(column)
+                                                .lanewise(VectorOperators.ABS)
+                                                .eq(k - i));
+            }
+        }
+        pairs.intoArray(mPairs, 0);
+        return;
+    }
+}
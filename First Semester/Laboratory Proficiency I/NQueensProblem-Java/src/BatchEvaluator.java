@@ -0,0 +1,27 @@
+// Scores a block of a Population in one call, filling its conflicts column.
+// create() returns the SIMD implementation when the JVM was started with
+// --add-modules jdk.incubator.vector and the vector sources were compiled in (see pom.xml),
+// and the scalar one otherwise. Implementations keep scratch space: one per thread.
+//   java --add-modules jdk.incubator.vector -cp target/classes NQueen batchEvaluation=true
+public interface BatchEvaluator
+{
+    // Sets conflicts for individuals from (inclusive) to to (exclusive) from their genes.
+    void evaluate(Population population, int from, int to);
+
+    // Name for reports: "vector (8 lanes)" or "scalar".
+    String description();
+
+    static BatchEvaluator create(final int length, final boolean vector)
+    {
+        if(vector == true){
+            try{
+                return (BatchEvaluator)Class.forName("VectorBatchEvaluator")
+                                            .getConstructor(int.class)
+                                            .newInstance(length);
+            }catch(ReflectiveOperationException | LinkageError e){
+                // Not compiled in, or the incubator module is not in the boot layer.
+            }
+        }
+        return new ScalarBatchEvaluator(length);
+    }
+}
@@ -0,0 +1,74 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// One GA run of a batch, written as a line of the job list in command-line form, e.g.
+//     boardSize=40 seed=7 tournament timeBudget=5000
+// Each line is applied on top of the batch's own parameters and selection strategy. Blank
+// lines and lines starting with # are skipped.
+public class BatchJob
+{
+    private final int mIndex;                                    // Position in the job list, from 0.
+    private final Parameters mParameters;
+    private final String mStrategy;
+
+    public BatchJob(final int index, final Parameters parameters, final String strategy)
+    {
+        this.mIndex = index;
+        this.mParameters = parameters;
+        this.mStrategy = strategy;
+        return;
+    }
+
+    // Jobs run one per thread, so unless a line says otherwise their population passes run inline.
+    public static List<BatchJob> read(final Path file, final Parameters defaults, final String strategy) throws IOException
+    {
+        List<BatchJob> jobs = new ArrayList<BatchJob>();
+        Parameters parameters = null;
+        String jobStrategy = null;
+        String line = null;
+        int equals = 0;
+
+        for(String text : Files.readAllLines(file))
+        {
+            line = text.trim();
+            if(line.isEmpty() == true || line.startsWith("#") == true){
+                continue;
+            }
+
+            parameters = defaults.copy();
+            parameters.parallelism(1);
+            jobStrategy = strategy;
+            for(String token : line.split("\\s+"))
+            {
+                equals = token.indexOf('=');
+                if(equals > 0){
+                    parameters.set(token.substring(0, equals), token.substring(equals + 1));
+                }else{
+                    jobStrategy = token;
+                }
+            }
+            parameters.validate();                               // Bad lines fail now, not mid-batch.
+            NQueen.selectionStrategy(jobStrategy, parameters);
+            jobs.add(new BatchJob(jobs.size(), parameters, jobStrategy));
+        }
+        return jobs;
+    }
+
+    public int index()
+    {
+        return mIndex;
+    }
+
+    public Parameters parameters()
+    {
+        return mParameters;
+    }
+
+    public String strategy()
+    {
+        return mStrategy;
+    }
+}
@@ -0,0 +1,84 @@
+// Outcome of one BatchJob, formatted as a CSV row or a JSON line. A job that threw has its
+// error message set and the run's figures at zero.
+public class BatchResult
+{
+    public static final String CSV_HEADER = "job,boardSize,seed,strategy,solved,conflicts,epochs,evaluations,millis,error";
+
+    private final BatchJob mJob;
+    private final boolean mSolved;
+    private final long mConflicts;                               // Best individual's count when the run ended.
+    private final int mEpochs;
+    private final long mEvaluations;
+    private final long mMillis;
+    private final String mError;                                 // null if the run completed.
+
+    public BatchResult(final BatchJob job, final boolean solved, final long conflicts, final int epochs, final long evaluations, final long millis, final String error)
+    {
+        this.mJob = job;
+        this.mSolved = solved;
+        this.mConflicts = conflicts;
+        this.mEpochs = epochs;
+        this.mEvaluations = evaluations;
+        this.mMillis = millis;
+        this.mError = error;
+        return;
+    }
+
+    public static BatchResult failed(final BatchJob job, final Throwable error, final long millis)
+    {
+        return new BatchResult(job, false, 0, 0, 0, millis, String.valueOf(error));
+    }
+
+    public String csv()
+    {
+        String error = "";
+
+        if(mError != null){
+            error = "\"" + mError.replace("\"", "\"\"") + "\"";
+        }
+        return mJob.index() + "," + mJob.parameters().boardSize() + "," + mJob.parameters().seed() + "," + mJob.strategy() + "," + mSolved + ","
+               + mConflicts + "," + mEpochs + "," + mEvaluations + "," + mMillis + "," + error;
+    }
+
+    public String json()
+    {
+        StringBuilder json = new StringBuilder();
+
+        json.append("{\"job\":").append(mJob.index());
+        json.append(",\"boardSize\":").append(mJob.parameters().boardSize());
+        json.append(",\"seed\":").append(mJob.parameters().seed());
+        json.append(",\"strategy\":");
+        quote(json, mJob.strategy());
+        json.append(",\"solved\":").append(mSolved);
+        json.append(",\"conflicts\":").append(mConflicts);
+        json.append(",\"epochs\":").append(mEpochs);
+        json.append(",\"evaluations\":").append(mEvaluations);
+        json.append(",\"millis\":").append(mMillis);
+        if(mError != null){
+            json.append(",\"error\":");
+            quote(json, mError);
+        }
+        json.append('}');
+        return json.toString();
+    }
+
+    private static void quote(final StringBuilder json, final String text)
+    {
+        char c = 0;
+
+        json.append('"');
+        for(int i = 0; i < text.length(); i++)
+        {
+            c = text.charAt(i);
+            if(c == '"' || c == '\\'){
+                json.append('\\').append(c);
+            }else if(c < 0x20){
+                json.append(String.format("\\u%04x", (int)c));
+            }else{
+                json.append(c);
+            }
+        }
+        json.append('"');
+        return;
+    }
+}
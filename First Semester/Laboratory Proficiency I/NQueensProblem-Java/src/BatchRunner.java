@@ -0,0 +1,123 @@
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Runs a list of BatchJobs concurrently in one JVM, a fresh NQueen per job, and writes each
+// result the moment its job ends, so the output is in finishing order and a long sweep can be
+// watched as it goes. Jobs get a virtual thread each when the JVM has them (Java 21 on; looked
+// up by reflection since the build targets 17), else a fixed pool of platform threads. Either
+// way at most parallelism jobs run at once: a GA job never blocks, so more would only share
+// the same cores. Virtual threads ride the JDK's carrier pool, which
+// -Djdk.virtualThreadScheduler.parallelism bounds.
+public class BatchRunner
+{
+    private final int mParallelism;
+    private final Semaphore mRunning;
+    private final PrintWriter mOut;
+    private final boolean mCsv;                                  // CSV rows, else JSON lines.
+    private final Method mVirtualThreads;                        // Executors.newVirtualThreadPerTaskExecutor, or null.
+
+    public BatchRunner(final int parallelism, final Writer out, final boolean csv)
+    {
+        this.mParallelism = Math.max(1, parallelism);
+        this.mRunning = new Semaphore(this.mParallelism);
+        this.mOut = new PrintWriter(out);
+        this.mCsv = csv;
+        this.mVirtualThreads = virtualThreads();
+        return;
+    }
+
+    // Returns once every job has written its result.
+    public void run(final List<BatchJob> jobs) throws InterruptedException
+    {
+        ExecutorService executor = executor();
+
+        if(mCsv == true){
+            write(BatchResult.CSV_HEADER);
+        }
+        for(BatchJob job : jobs)
+        {
+            executor.execute(() -> runJob(job));
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        return;
+    }
+
+    public String description()
+    {
+        return mParallelism + " at a time on " + (mVirtualThreads != null ? "virtual threads" : "platform threads");
+    }
+
+    private static Method virtualThreads()
+    {
+        try{
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }catch(NoSuchMethodException e){
+            return null;
+        }
+    }
+
+    private ExecutorService executor()
+    {
+        if(mVirtualThreads != null){
+            try{
+                return (ExecutorService)mVirtualThreads.invoke(null);
+            }catch(ReflectiveOperationException e){
+                // Present but unusable, e.g. behind --enable-preview on Java 19 or 20.
+            }
+        }
+        return Executors.newFixedThreadPool(mParallelism);
+    }
+
+    private void runJob(final BatchJob job)
+    {
+        Parameters parameters = job.parameters();
+        NQueen solver = null;
+        BatchResult result = null;
+        boolean solved = false;
+        long start = 0;
+
+        try{
+            mRunning.acquire();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        start = System.nanoTime();
+        try{
+            solver = new NQueen(parameters, new Randomizer(parameters.seed()));
+            solver.selection(NQueen.selectionStrategy(job.strategy(), parameters));
+            solved = solver.solve(parameters.timeBudget());
+            result = new BatchResult(job, solved, solver.statistics().minimum(), solver.epoch(), solver.metrics().evaluations(),
+                                     (System.nanoTime() - start) / 1000000, null);
+        }catch(RuntimeException e){
+            result = BatchResult.failed(job, e, (System.nanoTime() - start) / 1000000);
+        }finally{
+            if(solver != null){
+                solver.shutdown();
+            }
+            mRunning.release();
+        }
+
+        if(mCsv == true){
+            write(result.csv());
+        }else{
+            write(result.json());
+        }
+        return;
+    }
+
+    private synchronized void write(final String line)
+    {
+        mOut.println(line);
+        mOut.flush();
+        return;
+    }
+}
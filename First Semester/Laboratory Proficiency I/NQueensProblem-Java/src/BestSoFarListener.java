@@ -0,0 +1,7 @@
+// Told each time an anytime solve finds a board with fewer conflicts than any before it,
+// starting with the best of the initial population. Called on the solving thread between
+// epochs, so it should return quickly; best is a fresh copy the listener may keep.
+public interface BestSoFarListener
+{
+    void improved(Chromosome best, int epoch);
+}
@@ -0,0 +1,212 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Exact backtracking over bitboards. The search places one queen per column (the genome's
+// index) and keeps three long masks of the rows it may not use: rows already taken and the two
+// diagonal directions, which shift by one row per column. A free row is then one bit of
+// ~(rows | down | up), so each step is a few logical operations with no arrays.
+// Boards up to MAX_SIZE fit the masks; counting is only practical up to about N = 20.
+public class BitboardSolver
+{
+    public static final int MAX_SIZE = 64;
+    private static final int SPLIT_DEPTH = 3;                    // Columns placed before subtrees are searched inline.
+
+    private final int mSize;
+    private final long mFull;                                    // One bit per row.
+    private final ForkJoinPool mPool;                            // null counts on the calling thread.
+
+    public BitboardSolver(final int size, final int parallelism)
+    {
+        if(size < 1 || size > MAX_SIZE){
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE + ": " + size);
+        }
+        this.mSize = size;
+        this.mFull = size == MAX_SIZE ? -1L : (1L << size) - 1;
+        if(parallelism > 1){
+            this.mPool = new ForkJoinPool(parallelism);
+        }else{
+            this.mPool = null;
+        }
+        return;
+    }
+
+    // Number of distinct solutions. Reflecting the board top to bottom maps a solution with its
+    // first queen in row r to one with it in row N - 1 - r, so only the lower half of the first
+    // column is searched and doubled. On odd boards the middle row maps to itself; there the
+    // second column, which cannot also use the middle row, is halved instead.
+    public long count()
+    {
+        long half = (1L << (mSize / 2)) - 1;
+        long middle = 1L << (mSize / 2);
+        long total = 0;
+
+        if(mSize == 1){
+            return 1;
+        }
+
+        total = 2 * run(new CountTask(0, 0, 0, 0, half));
+        if(mSize % 2 == 1){
+            total += 2 * run(new CountTask(1, middle, (middle << 1) & mFull, middle >>> 1, half));
+        }
+        return total;
+    }
+
+    // Fills rows with the first solution in search order. Returns false if the board has none.
+    public boolean first(final int rows[])
+    {
+        return first(rows, 0, 0, 0, 0);
+    }
+
+    public void shutdown()
+    {
+        if(this.mPool != null){
+            this.mPool.shutdown();
+        }
+        return;
+    }
+
+    // Reference check, independent of Chromosome's diagonal counters: true if rows holds one
+    // queen per row and no two share a diagonal. Used to confirm what computeConflicts() reports.
+    public static boolean isSolution(final int rows[])
+    {
+        int size = rows.length;
+        long full = size == MAX_SIZE ? -1L : (1L << size) - 1;
+        long taken = 0;
+        long down = 0;
+        long up = 0;
+        long bit = 0;
+
+        if(size > MAX_SIZE){
+            throw new IllegalArgumentException("boards wider than " + MAX_SIZE + " do not fit the masks: " + size);
+        }
+
+        for(int x = 0; x < size; x++)
+        {
+            if(rows[x] < 0 || rows[x] >= size){
+                return false;
+            }
+            bit = 1L << rows[x];
+            if(((taken | down | up) & bit) != 0){
+                return false;
+            }
+            taken |= bit;
+            down = ((down | bit) << 1) & full;
+            up = (up | bit) >>> 1;
+        }
+        return true;
+    }
+
+    private long run(final CountTask task)
+    {
+        if(this.mPool == null){
+            return task.invoke();
+        }
+        return this.mPool.invoke(task);
+    }
+
+    private long countFrom(final int column, final long taken, final long down, final long up)
+    {
+        long free = ~(taken | down | up) & mFull;
+        long bit = 0;
+        long count = 0;
+
+        if(column == mSize){
+            return 1;
+        }
+
+        while(free != 0)
+        {
+            bit = free & -free;
+            free ^= bit;
+            count += countFrom(column + 1, taken | bit, ((down | bit) << 1) & mFull, (up | bit) >>> 1);
+        }
+        return count;
+    }
+
+    private boolean first(final int rows[], final int column, final long taken, final long down, final long up)
+    {
+        long free = ~(taken | down | up) & mFull;
+        long bit = 0;
+
+        if(column == mSize){
+            return true;
+        }
+
+        while(free != 0)
+        {
+            bit = free & -free;
+            free ^= bit;
+            rows[column] = Long.numberOfTrailingZeros(bit);
+            if(first(rows, column + 1, taken | bit, ((down | bit) << 1) & mFull, (up | bit) >>> 1) == true){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Counts the subtree below one partial placement. Near the root every free row becomes its
+    // own task; from SPLIT_DEPTH down the subtree is counted inline.
+    @SuppressWarnings("serial")
+    private class CountTask extends RecursiveTask<Long>
+    {
+        private final int mColumn;
+        private final long mTaken;
+        private final long mDown;
+        private final long mUp;
+        private final long mAllowed;                             // Rows this column may try; the symmetry cut at the root.
+
+        CountTask(final int column, final long taken, final long down, final long up, final long allowed)
+        {
+            this.mColumn = column;
+            this.mTaken = taken;
+            this.mDown = down;
+            this.mUp = up;
+            this.mAllowed = allowed;
+        }
+
+        @Override
+        protected Long compute()
+        {
+            long free = ~(mTaken | mDown | mUp) & mAllowed & mFull;
+            long bit = 0;
+            long count = 0;
+            List<CountTask> subtasks = null;
+
+            if(mColumn == mSize){
+                return 1L;
+            }
+
+            if(mColumn >= SPLIT_DEPTH){
+                while(free != 0)
+                {
+                    bit = free & -free;
+                    free ^= bit;
+                    count += countFrom(mColumn + 1, mTaken | bit, ((mDown | bit) << 1) & mFull, (mUp | bit) >>> 1);
+                }
+                return count;
+            }
+
+            subtasks = new ArrayList<CountTask>();
+            while(free != 0)
+            {
+                bit = free & -free;
+                free ^= bit;
+                subtasks.add(new CountTask(mColumn + 1, mTaken | bit, ((mDown | bit) << 1) & mFull, (mUp | bit) >>> 1, mFull));
+            }
+            if(mPool == null){
+                for(CountTask subtask : subtasks)
+                {
+                    count += subtask.compute();
+                }
+            }else{
+                for(CountTask subtask : invokeAll(subtasks))
+                {
+                    count += subtask.join();
+                }
+            }
+            return count;
+        }
+    }
+}
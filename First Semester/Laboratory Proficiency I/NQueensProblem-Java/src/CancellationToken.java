@@ -0,0 +1,17 @@
+// Lets any thread stop a running solve. The solver checks it between epochs, so a solve ends
+// at most one epoch after cancel() and still returns the best board it has.
+public class CancellationToken
+{
+    private volatile boolean mCancelled = false;
+
+    public void cancel()
+    {
+        mCancelled = true;
+        return;
+    }
+
+    public boolean cancelled()
+    {
+        return mCancelled;
+    }
+}
@@ -0,0 +1,264 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Binary snapshot of one solver, written and read through memory-mapped windows of a FileChannel.
+// Saves alternate between two slot files, <file>.0 and <file>.1, and load() takes the newer
+// complete one. A slot's magic number is cleared before its data is written and set again
+// last, so a JVM that stops mid-save leaves the other slot to resume from. The mapped pages
+// are left for the OS to flush: a save survives the JVM stopping, not the machine losing power.
+// Layout, in native byte order:
+//   header   magic, version, byte-order mark, board size, gene bytes, state count,
+//            population size, unused (ints), then the save's sequence number (long)
+//   state    the solver's counters and RNG state (longs), packed by NQueen
+//   columns  conflicts and hash (longs) of every individual
+//   genomes  every genome at its GenomeStore width
+// Saves are spaced at least the interval apart and at least SPACING times as long as the last
+// one took, so checkpointing costs at most about 1/SPACING of the run however big it gets.
+public class Checkpoint
+{
+    private static final int MAGIC = 0x4e514350;                 // "NQCP"
+    private static final int VERSION = 2;
+    private static final int BYTE_ORDER_MARK = 0x01020304;
+    private static final int HEADER_BYTES = 8 * Integer.BYTES + Long.BYTES;
+    private static final long WINDOW_BYTES = 1L << 30;           // Largest mapping at a time.
+    private static final int SPACING = 50;
+
+    private final Path mSlots[];
+    private final long mIntervalNanos;
+    private long mNextSave = 0;
+    private long mSequence = 0;                                  // Of the newest save, written or loaded.
+    private int mSlot = 0;                                       // Slot the next save goes to.
+    private FileChannel mChannel = null;                         // Open only inside save() and load().
+    private FileChannel.MapMode mMode = null;
+    private MappedByteBuffer mWindow = null;
+    private long mWindowStart = 0;
+    private long mLimit = 0;                                     // End of the data in the open slot.
+
+    public Checkpoint(final Path file, final long intervalMillis)
+    {
+        long first = 0;
+        long second = 0;
+
+        this.mSlots = new Path[] {Paths.get(file + ".0"), Paths.get(file + ".1")};
+        this.mIntervalNanos = intervalMillis * 1000000L;
+        this.mNextSave = System.nanoTime() + this.mIntervalNanos;
+
+        // Carry on from whatever the slots already hold, so a fresh run's first save outranks
+        // an older run's and lands on the older slot.
+        first = sequence(this.mSlots[0]);
+        second = sequence(this.mSlots[1]);
+        this.mSequence = Math.max(first, second);
+        if(first > second){
+            this.mSlot = 1;
+        }
+        return;
+    }
+
+    // True once the spacing since the last save has passed.
+    public boolean due()
+    {
+        return System.nanoTime() - mNextSave >= 0;
+    }
+
+    // Writes state and every individual of population to the older slot.
+    public void save(final long state[], final Population population) throws IOException
+    {
+        long start = System.nanoTime();
+        int size = population.size();
+        int length = population.length();
+        int genomeBytes = GenomeStore.geneBytes(length) * length;
+        MappedByteBuffer header = null;
+
+        if(genomeBytes > WINDOW_BYTES){
+            throw new IllegalArgumentException("Genomes of length " + length + " are too long to checkpoint");
+        }
+
+        mMode = FileChannel.MapMode.READ_WRITE;
+        mChannel = FileChannel.open(mSlots[mSlot], StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try{
+            mLimit = HEADER_BYTES + (long)state.length * Long.BYTES + (long)size * 2 * Long.BYTES + (long)size * genomeBytes;
+            header = map(0, HEADER_BYTES);
+            header.putInt(0, 0);
+            mWindow = null;
+            mWindowStart = HEADER_BYTES;
+
+            for(int i = 0; i < state.length; i++)
+            {
+                window(Long.BYTES).putLong(state[i]);
+            }
+            for(int i = 0; i < size; i++)
+            {
+                window(Long.BYTES).putLong(population.conflicts(i));
+            }
+            for(int i = 0; i < size; i++)
+            {
+                window(Long.BYTES).putLong(population.hash(i));
+            }
+            for(int i = 0; i < size; i++)
+            {
+                population.writeGenes(i, window(genomeBytes));
+            }
+
+            header.putInt(Integer.BYTES, VERSION);
+            header.putInt(2 * Integer.BYTES, BYTE_ORDER_MARK);
+            header.putInt(3 * Integer.BYTES, length);
+            header.putInt(4 * Integer.BYTES, GenomeStore.geneBytes(length));
+            header.putInt(5 * Integer.BYTES, state.length);
+            header.putInt(6 * Integer.BYTES, size);
+            header.putInt(7 * Integer.BYTES, 0);
+            header.putLong(8 * Integer.BYTES, mSequence + 1);
+            header.putInt(0, MAGIC);
+        }finally{
+            close();
+        }
+
+        mSequence++;
+        mSlot = 1 - mSlot;
+        mNextSave = System.nanoTime() + Math.max(mIntervalNanos, SPACING * (System.nanoTime() - start));
+        return;
+    }
+
+    public boolean exists()
+    {
+        return newest() >= 0;
+    }
+
+    // Refills population from the newest complete slot and returns the saved state.
+    public long[] load(final Population population) throws IOException
+    {
+        int slot = newest();
+        int length = population.length();
+        int genomeBytes = GenomeStore.geneBytes(length) * length;
+        long state[] = null;
+        int size = 0;
+        int index = 0;
+        MappedByteBuffer header = null;
+
+        if(slot < 0){
+            throw new IOException("No complete checkpoint at " + mSlots[0] + " or " + mSlots[1]);
+        }
+
+        mMode = FileChannel.MapMode.READ_ONLY;
+        mChannel = FileChannel.open(mSlots[slot], StandardOpenOption.READ);
+        try{
+            mLimit = mChannel.size();
+            header = map(0, HEADER_BYTES);
+            if(header.getInt(3 * Integer.BYTES) != length){
+                throw new IllegalArgumentException("Checkpoint " + mSlots[slot] + " is for a board of " + header.getInt(3 * Integer.BYTES) + ", not " + length);
+            }
+            state = new long[header.getInt(5 * Integer.BYTES)];
+            size = header.getInt(6 * Integer.BYTES);
+            mWindow = null;
+            mWindowStart = HEADER_BYTES;
+
+            for(int i = 0; i < state.length; i++)
+            {
+                state[i] = window(Long.BYTES).getLong();
+            }
+            population.clear();
+            for(int i = 0; i < size; i++)
+            {
+                index = population.add();
+                population.conflicts(index, window(Long.BYTES).getLong());
+            }
+            for(int i = 0; i < size; i++)
+            {
+                population.hash(i, window(Long.BYTES).getLong());
+            }
+            for(int i = 0; i < size; i++)
+            {
+                population.readGenes(window(genomeBytes), i);
+            }
+            mSequence = header.getLong(8 * Integer.BYTES);
+        }finally{
+            close();
+        }
+
+        mSlot = 1 - slot;
+        return state;
+    }
+
+    // Where the newest complete save is, for messages.
+    public Path file()
+    {
+        return mSlots[1 - mSlot];
+    }
+
+    // Index of the slot with the highest sequence number among the complete ones, or -1.
+    private int newest()
+    {
+        int best = -1;
+        long bestSequence = 0;
+        long sequence = 0;
+
+        for(int slot = 0; slot < mSlots.length; slot++)
+        {
+            sequence = sequence(mSlots[slot]);
+            if(sequence > bestSequence){
+                best = slot;
+                bestSequence = sequence;
+            }
+        }
+        return best;
+    }
+
+    // The slot's sequence number if it holds a complete save this version can read, else 0.
+    private static long sequence(final Path slot)
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+
+        if(Files.isRegularFile(slot) == false){
+            return 0;
+        }
+        try(FileChannel channel = FileChannel.open(slot, StandardOpenOption.READ)){
+            channel.read(header, 0);
+        }catch(IOException e){
+            return 0;
+        }
+        if(header.hasRemaining() == true || header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION
+           || header.getInt(2 * Integer.BYTES) != BYTE_ORDER_MARK){
+            return 0;
+        }
+        return header.getLong(8 * Integer.BYTES);
+    }
+
+    private MappedByteBuffer map(final long position, final long size) throws IOException
+    {
+        MappedByteBuffer buffer = mChannel.map(mMode, position, size);
+
+        buffer.order(ByteOrder.nativeOrder());
+        return buffer;
+    }
+
+    // The current window, remapped at the current file position if it has fewer than bytes left.
+    private ByteBuffer window(final int bytes) throws IOException
+    {
+        long position = 0;
+
+        if(mWindow != null && mWindow.remaining() >= bytes){
+            return mWindow;
+        }
+        position = mWindow == null ? mWindowStart : mWindowStart + mWindow.position();
+        if(mLimit - position < bytes){
+            throw new IOException("Checkpoint is truncated at byte " + position);
+        }
+        mWindow = map(position, Math.min(WINDOW_BYTES, mLimit - position));
+        mWindowStart = position;
+        return mWindow;
+    }
+
+    private void close() throws IOException
+    {
+        mWindow = null;
+        mChannel.close();
+        mChannel = null;
+        return;
+    }
+}
@@ -0,0 +1,244 @@
+import java.util.Arrays;
+
+// Working copy of one genome. Offspring are built and mutated here, where the
+// diagonal counters are kept, and then stored into the Population columns.
+// Scoring is lazy: the conflict count and the diagonal counters are only rebuilt when
+// something asks for them, so a genome assembled from direct writes or loaded and reshuffled
+// costs one count at the end, or none if a ConflictCache already knows its hash.
+public class Chromosome
+{
+    private final int mLength;                                   // Board width.
+    private int mData[] = null;
+    private long mConflicts = 0;                                 // N(N - 1) can pass the int range on very wide boards.
+    private int mDiagonals[] = null;                             // Queens per (x - y) diagonal.
+    private int mAntiDiagonals[] = null;                         // Queens per (x + y) diagonal.
+    private boolean mScored = false;                             // mConflicts matches mData.
+    private boolean mCounted = false;                            // The diagonal counters match mData too.
+    private final GenomeHash mKeys;                              // null: no hash is kept.
+    private final ConflictCache mCache;                          // null: evaluate() always counts.
+    private long mHash = 0;
+
+    public Chromosome(final int length)
+    {
+        this(length, null, null);
+        return;
+    }
+
+    public Chromosome(final int length, final GenomeHash keys, final ConflictCache cache)
+    {
+        this.mLength = length;
+        this.mData = new int[length];
+        this.mDiagonals = new int[2 * length - 1];
+        this.mAntiDiagonals = new int[2 * length - 1];
+        this.mKeys = keys;
+        this.mCache = cache;
+        reset();
+        return;
+    }
+
+    public int length()
+    {
+        return this.mLength;
+    }
+
+    public void reset()
+    {
+        for(int i = 0; i < this.mLength; i++)
+        {
+            this.mData[i] = i;
+        }
+        rehash();
+        computeConflicts();
+        return;
+    }
+
+    // Takes the genome with its stored score and hash; the counters are rebuilt only if needed.
+    public void load(final Population source, final int index)
+    {
+        source.copyGenesTo(index, this.mData);
+        this.mConflicts = source.conflicts(index);
+        this.mHash = source.hash(index);
+        this.mScored = true;
+        this.mCounted = false;
+        return;
+    }
+
+    public void store(final Population target, final int index)
+    {
+        evaluate();
+        target.copyGenesFrom(this.mData, index);
+        target.conflicts(index, conflicts());
+        target.hash(index, this.mHash);
+        return;
+    }
+
+    // Stores genes and hash only, leaving the conflicts column for a BatchEvaluator to fill.
+    public void storeGenes(final Population target, final int index)
+    {
+        target.copyGenesFrom(this.mData, index);
+        target.hash(index, this.mHash);
+        return;
+    }
+
+    // Scores the genome once it is complete: from the cache when it has the hash, otherwise
+    // by counting, and the count is then offered to the cache. A cached zero is always
+    // counted again, so a hash collision can never pass off a board as solved.
+    public void evaluate()
+    {
+        long cached = 0;
+
+        if(this.mScored == true){
+            return;
+        }
+        if(this.mCache != null){
+            cached = this.mCache.get(this.mHash);
+            if(cached > 0){
+                this.mConflicts = cached;
+                this.mScored = true;
+                return;
+            }
+        }
+        computeConflicts();
+        if(this.mCache != null){
+            this.mCache.put(this.mHash, conflicts());
+        }
+        return;
+    }
+
+    // Hash of the genome under the GenomeHash keys; 0 when no keys were given.
+    public long hash()
+    {
+        return this.mHash;
+    }
+
+    // Recomputes the hash from scratch, for when mData was filled wholesale.
+    private void rehash()
+    {
+        if(this.mKeys != null){
+            this.mHash = this.mKeys.hash(this.mData);
+        }
+        return;
+    }
+    
+    public void computeConflicts()
+    {
+        long conflicts = 0;
+
+        // Clear the diagonal counters.
+        Arrays.fill(this.mDiagonals, 0);
+        Arrays.fill(this.mAntiDiagonals, 0);
+
+        // Every queen already on a diagonal sees the new one, and the new one sees each of them,
+        // so a diagonal holding k queens adds k * (k - 1), the same total the board walk produced.
+        for(int i = 0; i < this.mLength; i++)
+        {
+            conflicts += 2 * this.mDiagonals[i - this.mData[i] + this.mLength - 1]++;
+            conflicts += 2 * this.mAntiDiagonals[i + this.mData[i]]++;
+        }
+
+        this.mConflicts = conflicts;
+        this.mScored = true;
+        this.mCounted = true;
+    }
+    
+    public void swap(final int index1, final int index2)
+    {
+        // Lift both queens off their diagonals, then drop them back in each other's rows.
+        // The counters stay current, so the conflict count moves in O(1).
+        int value1 = this.mData[index1];
+        int value2 = this.mData[index2];
+
+        if(index1 == index2){
+            return;
+        }
+
+        if(this.mKeys != null){
+            this.mHash += (this.mKeys.positionKey(index1) - this.mKeys.positionKey(index2)) * (this.mKeys.valueKey(value2) - this.mKeys.valueKey(value1));
+        }
+
+        if(this.mCounted == false){
+            // No counters to keep current: move the genes and score later.
+            this.mData[index1] = value2;
+            this.mData[index2] = value1;
+            this.mScored = false;
+            return;
+        }
+
+        removeQueen(index1, value1);
+        removeQueen(index2, value2);
+        addQueen(index1, value2);
+        addQueen(index2, value1);
+        return;
+    }
+
+    private void removeQueen(final int x, final int y)
+    {
+        this.mConflicts -= 2 * --this.mDiagonals[x - y + this.mLength - 1];
+        this.mConflicts -= 2 * --this.mAntiDiagonals[x + y];
+        return;
+    }
+
+    private void addQueen(final int x, final int y)
+    {
+        this.mConflicts += 2 * this.mDiagonals[x - y + this.mLength - 1]++;
+        this.mConflicts += 2 * this.mAntiDiagonals[x + y]++;
+        this.mData[x] = y;
+        return;
+    }
+    
+    // Change in conflicts if index1 and index2 were swapped. Leaves the genome as it was.
+    public long swapDelta(final int index1, final int index2)
+    {
+        long before = 0;
+        long after = 0;
+
+        ensureCounted();
+        before = this.mConflicts;
+        swap(index1, index2);
+        after = this.mConflicts;
+        swap(index1, index2);
+        return after - before;
+    }
+
+    // True if another queen shares a diagonal with the queen in column index.
+    public boolean attacked(final int index)
+    {
+        int value = this.mData[index];
+
+        ensureCounted();
+        return this.mDiagonals[index - value + this.mLength - 1] > 1 || this.mAntiDiagonals[index + value] > 1;
+    }
+
+    public long conflicts()
+    {
+        if(this.mScored == false){
+            computeConflicts();
+        }
+        return this.mConflicts;
+    }
+
+    public int data(final int index)
+    {
+        return mData[index];
+    }
+    
+    public void data(final int index, final int value)
+    {
+        // Direct writes bypass the diagonal counters; the genome is scored again when next asked.
+        if(this.mKeys != null){
+            this.mHash += this.mKeys.positionKey(index) * (this.mKeys.valueKey(value) - this.mKeys.valueKey(mData[index]));
+        }
+        mData[index] = value;
+        this.mScored = false;
+        this.mCounted = false;
+        return;
+    }
+
+    private void ensureCounted()
+    {
+        if(this.mCounted == false){
+            computeConflicts();
+        }
+        return;
+    }
+}
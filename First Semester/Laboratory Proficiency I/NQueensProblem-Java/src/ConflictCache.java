@@ -0,0 +1,119 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded map from genome hash to conflict count, shared by any number of threads without
+// locks. The table is split into sets of WAYS slots; a hash may live in any slot of its set.
+// When a set is full, CLOCK picks the victim: a hit sets the slot's reference flag, and the
+// insert sweeps the set clearing flags until it finds a slot that has not been used since
+// the last sweep. Each slot is two words written separately, (hash ^ data) and data, so a
+// reader that races a writer sees a pair that fails the hash check and simply misses.
+// Entries are keyed by the GenomeHash alone, which is weaker than a random 64-bit key (see
+// there). A collision hands a genome another genome's score; Chromosome recounts any cached
+// zero, so the worst it can do is misrank a board, never report a false solution.
+public class ConflictCache
+{
+    private static final int WAYS = 4;
+    private static final long VALID = Long.MIN_VALUE;            // Set in every stored data word, above the count.
+
+    private final int mMask;                                     // Sets - 1.
+    private final AtomicLongArray mChecks;                       // hash ^ data.
+    private final AtomicLongArray mData;                         // VALID | conflicts; counts are below 2^63.
+    private final boolean mReferenced[];                         // CLOCK bits; racy by design, only a hint.
+    private final LongAdder mHits = new LongAdder();
+    private final LongAdder mMisses = new LongAdder();
+
+    // capacity is rounded up to a power of two number of entries.
+    public ConflictCache(final int capacity)
+    {
+        int wanted = Math.max(1, (capacity + WAYS - 1) / WAYS);
+        int sets = Integer.highestOneBit(wanted);
+
+        if(sets < wanted){
+            sets <<= 1;
+        }
+
+        this.mMask = sets - 1;
+        this.mChecks = new AtomicLongArray(sets * WAYS);
+        this.mData = new AtomicLongArray(sets * WAYS);
+        this.mReferenced = new boolean[sets * WAYS];
+        return;
+    }
+
+    public int capacity()
+    {
+        return mData.length();
+    }
+
+    // The stored conflict count for hash, or -1 if it is not cached.
+    public long get(final long hash)
+    {
+        int base = slot(hash);
+        long data = 0;
+
+        for(int i = base; i < base + WAYS; i++)
+        {
+            data = mData.get(i);
+            if((data & VALID) != 0 && (mChecks.get(i) ^ data) == hash){
+                if(mReferenced[i] == false){
+                    mReferenced[i] = true;
+                }
+                mHits.increment();
+                return data & ~VALID;
+            }
+        }
+        mMisses.increment();
+        return -1;
+    }
+
+    public void put(final long hash, final long conflicts)
+    {
+        int base = slot(hash);
+        int victim = -1;
+        long data = VALID | conflicts;
+
+        // Already present, or a free slot.
+        for(int i = base; i < base + WAYS && victim < 0; i++)
+        {
+            if((mData.get(i) & VALID) == 0 || (mChecks.get(i) ^ mData.get(i)) == hash){
+                victim = i;
+            }
+        }
+
+        // CLOCK sweep over the set: second chance for every slot used since the last sweep.
+        for(int i = base; i < base + WAYS && victim < 0; i++)
+        {
+            if(mReferenced[i] == true){
+                mReferenced[i] = false;
+            }else{
+                victim = i;
+            }
+        }
+        if(victim < 0){
+            victim = base;
+        }
+
+        mChecks.set(victim, hash ^ data);
+        mData.set(victim, data);
+        mReferenced[victim] = false;
+        return;
+    }
+
+    public long hits()
+    {
+        return mHits.sum();
+    }
+
+    public long misses()
+    {
+        return mMisses.sum();
+    }
+
+    // Set start for hash. The hash is remixed first because its low bits are its weakest.
+    private int slot(final long hash)
+    {
+        long z = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+
+        z ^= z >>> 33;
+        return ((int)z & mMask) * WAYS;
+    }
+}
@@ -0,0 +1,69 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// One generation of one solver, recorded by Java Flight Recorder when it is enabled:
+//   java -XX:StartFlightRecording:filename=run.jfr NQueen
+// The event's duration is the whole nextEpoch(); the stage fields are that epoch's share.
+// When no recording is running, commit() is a no-op and the JIT removes the event.
+@Name("nqueens.Epoch")
+@Label("N-Queens Epoch")
+@Category("N-Queens")
+@Description("One generation of the genetic solver")
+@StackTrace(false)
+public class EpochEvent extends Event
+{
+    @Label("Epoch")
+    public int epoch;
+
+    @Label("Board Size")
+    public int boardSize;
+
+    @Label("Population")
+    public int population;
+
+    @Label("Best Conflicts")
+    public long best;
+
+    @Label("Mean Conflicts")
+    public double mean;
+
+    @Label("Worst Conflicts")
+    public long worst;
+
+    @Label("Offspring")
+    @Description("Children produced so far")
+    public int children;
+
+    @Label("Mutations")
+    @Description("Mutations applied so far")
+    public int mutations;
+
+    @Label("Diversity")
+    @Description("Share of distinct genomes in the population")
+    public double diversity;
+
+    @Label("Selection Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long selection;
+
+    @Label("Mating Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mating;
+
+    @Label("Mutation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mutation;
+
+    @Label("Fitness Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long fitness;
+
+    @Label("Survival Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long survival;
+}
@@ -0,0 +1,6 @@
+// Called after every epoch of a solve, on the solving thread, for work that rides along with
+// the run such as status lines and checkpoints. It should return quickly.
+public interface EpochListener
+{
+    void epoch(NQueen solver);
+}
@@ -0,0 +1,97 @@
+// Conflict statistics for one population, gathered in a single pass.
+// accept() folds in one individual, so appends can be tracked without a rescan;
+// combine() merges the partial results of two adjacent index ranges.
+public class EpochStatistics
+{
+    private int mCount = 0;
+    private long mTotal = 0;
+    private long mMinimum = Long.MAX_VALUE;
+    private long mMaximum = Long.MIN_VALUE;
+    private int mBestIndex = -1;
+    private int mWorstIndex = -1;
+
+    public void reset()
+    {
+        mCount = 0;
+        mTotal = 0;
+        mMinimum = Long.MAX_VALUE;
+        mMaximum = Long.MIN_VALUE;
+        mBestIndex = -1;
+        mWorstIndex = -1;
+        return;
+    }
+
+    // Ties keep the earlier index, so accept in ascending index order. The first individual
+    // always sets both ends, whatever its count, so bestIndex() is valid once count() > 0.
+    public void accept(final int index, final long conflicts)
+    {
+        mCount++;
+        mTotal += conflicts;
+        if(mCount == 1 || conflicts < mMinimum){
+            mMinimum = conflicts;
+            mBestIndex = index;
+        }
+        if(mCount == 1 || conflicts > mMaximum){
+            mMaximum = conflicts;
+            mWorstIndex = index;
+        }
+        return;
+    }
+
+    // Folds in the statistics of a range that follows this one.
+    public void combine(final EpochStatistics right)
+    {
+        if(right.mCount == 0){
+            return;
+        }
+        if(mCount == 0 || right.mMinimum < mMinimum){
+            mMinimum = right.mMinimum;
+            mBestIndex = right.mBestIndex;
+        }
+        if(mCount == 0 || right.mMaximum > mMaximum){
+            mMaximum = right.mMaximum;
+            mWorstIndex = right.mWorstIndex;
+        }
+        mCount += right.mCount;
+        mTotal += right.mTotal;
+        return;
+    }
+
+    public int count()
+    {
+        return mCount;
+    }
+
+    public long minimum()
+    {
+        return mMinimum;
+    }
+
+    public long maximum()
+    {
+        return mMaximum;
+    }
+
+    public double mean()
+    {
+        if(mCount == 0){
+            return 0.0;
+        }
+        return (double)mTotal / mCount;
+    }
+
+    public int bestIndex()
+    {
+        return mBestIndex;
+    }
+
+    public int worstIndex()
+    {
+        return mWorstIndex;
+    }
+
+    public boolean solved()
+    {
+        return mCount > 0 && mMinimum == 0;
+    }
+}
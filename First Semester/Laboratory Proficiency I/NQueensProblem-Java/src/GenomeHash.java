@@ -0,0 +1,52 @@
+// Keys for a cheap incremental hash of permutation genomes: the sum of positionKey(i) *
+// valueKey(gene i), from 2 * N random longs. Writing one gene or swapping two moves the sum in
+// O(1), so Chromosome keeps it current as it changes. It is not Zobrist hashing: the keys for
+// (position, value) pairs are products rather than independent, and the sum is linear, so
+// genomes collide more often than random longs would. Bit 0 is also the same for every
+// genome, since the position keys are odd. Good enough to key a cache, not to tell genomes
+// apart for certain.
+// The keys come from a fixed seed: every solver, island and run hashes a given genome the
+// same way, which lets them share one ConflictCache. Instances are immutable.
+public class GenomeHash
+{
+    private static final long KEY_SEED = 0x2545f4914f6cdd1dL;
+
+    private final long mPositionKeys[];
+    private final long mValueKeys[];
+
+    public GenomeHash(final int length)
+    {
+        Randomizer random = new Randomizer(KEY_SEED);
+
+        this.mPositionKeys = new long[length];
+        this.mValueKeys = new long[length];
+        for(int i = 0; i < length; i++)
+        {
+            this.mPositionKeys[i] = random.nextLong() | 1L;      // Odd, so no key wipes out low bits.
+            this.mValueKeys[i] = random.nextLong();
+        }
+        return;
+    }
+
+    public long positionKey(final int position)
+    {
+        return mPositionKeys[position];
+    }
+
+    public long valueKey(final int value)
+    {
+        return mValueKeys[value];
+    }
+
+    // Full hash of a genome; O(N). Chromosome only needs it when a genome is built from scratch.
+    public long hash(final int genes[])
+    {
+        long hash = 0;
+
+        for(int i = 0; i < genes.length; i++)
+        {
+            hash += mPositionKeys[i] * mValueKeys[genes[i]];
+        }
+        return hash;
+    }
+}
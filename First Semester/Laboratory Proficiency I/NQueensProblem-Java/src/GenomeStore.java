@@ -0,0 +1,507 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Contiguous storage for capacity genomes of length genes each, individual i at
+// [i * length, (i + 1) * length). Genes are queen rows in 0 .. length - 1, so the
+// narrowest primitive that holds length - 1 is enough: create() picks byte[] for
+// boards up to 127, short[] up to 32767 and int[] beyond.
+// createDirect() keeps the same encodings off the Java heap instead, for runs whose
+// genomes would otherwise fill the heap and stretch every GC.
+public abstract class GenomeStore
+{
+    protected final int mLength;
+
+    protected GenomeStore(final int length)
+    {
+        this.mLength = length;
+        return;
+    }
+
+    public static GenomeStore create(final int length, final int capacity)
+    {
+        if(length <= Byte.MAX_VALUE){
+            return new ByteGenomes(length, capacity);
+        }else if(length <= Short.MAX_VALUE){
+            return new ShortGenomes(length, capacity);
+        }
+        return new IntGenomes(length, capacity);
+    }
+
+    // Off-heap store in direct ByteBuffers. Counts against -XX:MaxDirectMemorySize, which
+    // defaults to the maximum heap size, so raise it for populations larger than the heap.
+    public static GenomeStore createDirect(final int length, final int capacity)
+    {
+        return new DirectGenomes(length, capacity, geneBytes(length));
+    }
+
+    // Bytes per gene in every store of this length, on heap or off.
+    public static int geneBytes(final int length)
+    {
+        if(length <= Byte.MAX_VALUE){
+            return Byte.BYTES;
+        }else if(length <= Short.MAX_VALUE){
+            return Short.BYTES;
+        }
+        return Integer.BYTES;
+    }
+
+    public int length()
+    {
+        return mLength;
+    }
+
+    public abstract int gene(int index, int position);
+
+    public abstract void gene(int index, int position, int value);
+
+    public abstract void copyTo(int index, int destination[]);
+
+    public abstract void copyFrom(int source[], int index);
+
+    // Copies a genome from a store of the same length. Stores of the same kind copy in bulk;
+    // a heap store and a direct one meet through copyAcross.
+    public abstract void copy(GenomeStore source, int sourceIndex, int targetIndex);
+
+    protected void copyAcross(final GenomeStore source, final int sourceIndex, final int targetIndex)
+    {
+        for(int i = 0; i < mLength; i++)
+        {
+            gene(targetIndex, i, source.gene(sourceIndex, i));
+        }
+        return;
+    }
+
+    // Bulk transfer of one genome's geneBytes(length) * length bytes at the buffer's position,
+    // which moves past them. The buffer must be in native byte order, as checkpoints are.
+    public abstract void write(int index, ByteBuffer target);
+
+    public abstract void read(ByteBuffer source, int index);
+
+    public abstract void resize(int capacity);
+
+    protected int slots(final int capacity)
+    {
+        long slots = (long)capacity * mLength;
+
+        if(slots > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException(capacity + " genomes of length " + mLength + " do not fit in one array");
+        }
+        return (int)slots;
+    }
+
+    private static final class ByteGenomes extends GenomeStore
+    {
+        private byte mGenes[];
+
+        ByteGenomes(final int length, final int capacity)
+        {
+            super(length);
+            mGenes = new byte[slots(capacity)];
+        }
+
+        @Override
+        public int gene(final int index, final int position)
+        {
+            return mGenes[index * mLength + position];
+        }
+
+        @Override
+        public void gene(final int index, final int position, final int value)
+        {
+            mGenes[index * mLength + position] = (byte)value;
+            return;
+        }
+
+        @Override
+        public void copyTo(final int index, final int destination[])
+        {
+            int offset = index * mLength;
+
+            for(int i = 0; i < mLength; i++)
+            {
+                destination[i] = mGenes[offset + i];
+            }
+            return;
+        }
+
+        @Override
+        public void copyFrom(final int source[], final int index)
+        {
+            int offset = index * mLength;
+
+            for(int i = 0; i < mLength; i++)
+            {
+                mGenes[offset + i] = (byte)source[i];
+            }
+            return;
+        }
+
+        @Override
+        public void copy(final GenomeStore source, final int sourceIndex, final int targetIndex)
+        {
+            if(source instanceof ByteGenomes){
+                System.arraycopy(((ByteGenomes)source).mGenes, sourceIndex * mLength, mGenes, targetIndex * mLength, mLength);
+            }else{
+                copyAcross(source, sourceIndex, targetIndex);
+            }
+            return;
+        }
+
+        @Override
+        public void write(final int index, final ByteBuffer target)
+        {
+            target.put(mGenes, index * mLength, mLength);
+            return;
+        }
+
+        @Override
+        public void read(final ByteBuffer source, final int index)
+        {
+            source.get(mGenes, index * mLength, mLength);
+            return;
+        }
+
+        @Override
+        public void resize(final int capacity)
+        {
+            mGenes = Arrays.copyOf(mGenes, slots(capacity));
+            return;
+        }
+    }
+
+    private static final class ShortGenomes extends GenomeStore
+    {
+        private short mGenes[];
+
+        ShortGenomes(final int length, final int capacity)
+        {
+            super(length);
+            mGenes = new short[slots(capacity)];
+        }
+
+        @Override
+        public int gene(final int index, final int position)
+        {
+            return mGenes[index * mLength + position];
+        }
+
+        @Override
+        public void gene(final int index, final int position, final int value)
+        {
+            mGenes[index * mLength + position] = (short)value;
+            return;
+        }
+
+        @Override
+        public void copyTo(final int index, final int destination[])
+        {
+            int offset = index * mLength;
+
+            for(int i = 0; i < mLength; i++)
+            {
+                destination[i] = mGenes[offset + i];
+            }
+            return;
+        }
+
+        @Override
+        public void copyFrom(final int source[], final int index)
+        {
+            int offset = index * mLength;
+
+            for(int i = 0; i < mLength; i++)
+            {
+                mGenes[offset + i] = (short)source[i];
+            }
+            return;
+        }
+
+        @Override
+        public void copy(final GenomeStore source, final int sourceIndex, final int targetIndex)
+        {
+            if(source instanceof ShortGenomes){
+                System.arraycopy(((ShortGenomes)source).mGenes, sourceIndex * mLength, mGenes, targetIndex * mLength, mLength);
+            }else{
+                copyAcross(source, sourceIndex, targetIndex);
+            }
+            return;
+        }
+
+        @Override
+        public void write(final int index, final ByteBuffer target)
+        {
+            target.asShortBuffer().put(mGenes, index * mLength, mLength);
+            target.position(target.position() + mLength * Short.BYTES);
+            return;
+        }
+
+        @Override
+        public void read(final ByteBuffer source, final int index)
+        {
+            source.asShortBuffer().get(mGenes, index * mLength, mLength);
+            source.position(source.position() + mLength * Short.BYTES);
+            return;
+        }
+
+        @Override
+        public void resize(final int capacity)
+        {
+            mGenes = Arrays.copyOf(mGenes, slots(capacity));
+            return;
+        }
+    }
+
+    private static final class IntGenomes extends GenomeStore
+    {
+        private int mGenes[];
+
+        IntGenomes(final int length, final int capacity)
+        {
+            super(length);
+            mGenes = new int[slots(capacity)];
+        }
+
+        @Override
+        public int gene(final int index, final int position)
+        {
+            return mGenes[index * mLength + position];
+        }
+
+        @Override
+        public void gene(final int index, final int position, final int value)
+        {
+            mGenes[index * mLength + position] = value;
+            return;
+        }
+
+        @Override
+        public void copyTo(final int index, final int destination[])
+        {
+            System.arraycopy(mGenes, index * mLength, destination, 0, mLength);
+            return;
+        }
+
+        @Override
+        public void copyFrom(final int source[], final int index)
+        {
+            System.arraycopy(source, 0, mGenes, index * mLength, mLength);
+            return;
+        }
+
+        @Override
+        public void copy(final GenomeStore source, final int sourceIndex, final int targetIndex)
+        {
+            if(source instanceof IntGenomes){
+                System.arraycopy(((IntGenomes)source).mGenes, sourceIndex * mLength, mGenes, targetIndex * mLength, mLength);
+            }else{
+                copyAcross(source, sourceIndex, targetIndex);
+            }
+            return;
+        }
+
+        @Override
+        public void write(final int index, final ByteBuffer target)
+        {
+            target.asIntBuffer().put(mGenes, index * mLength, mLength);
+            target.position(target.position() + mLength * Integer.BYTES);
+            return;
+        }
+
+        @Override
+        public void read(final ByteBuffer source, final int index)
+        {
+            source.asIntBuffer().get(mGenes, index * mLength, mLength);
+            source.position(source.position() + mLength * Integer.BYTES);
+            return;
+        }
+
+        @Override
+        public void resize(final int capacity)
+        {
+            mGenes = Arrays.copyOf(mGenes, slots(capacity));
+            return;
+        }
+    }
+
+    // Genomes in direct buffers of at most CHUNK_BYTES each, so the store is not limited to one
+    // array's 2^31 elements and grows by adding chunks rather than copying. Each genome sits
+    // whole inside one chunk, width bytes per gene in native order.
+    private static final class DirectGenomes extends GenomeStore
+    {
+        private static final int CHUNK_BYTES = 1 << 30;
+
+        private final int mWidth;                                // Bytes per gene: 1, 2 or 4.
+        private final int mGenomeBytes;
+        private final int mPerChunk;                             // Genomes per chunk.
+        private final List<ByteBuffer> mChunks = new ArrayList<ByteBuffer>();
+        private int mCapacity = 0;
+
+        DirectGenomes(final int length, final int capacity, final int width)
+        {
+            super(length);
+            if((long)length * width > CHUNK_BYTES){
+                throw new IllegalArgumentException("A genome of length " + length + " does not fit one buffer");
+            }
+            mWidth = width;
+            mGenomeBytes = length * width;
+            mPerChunk = Math.max(1, CHUNK_BYTES / mGenomeBytes);
+            resize(capacity);
+        }
+
+        @Override
+        public int gene(final int index, final int position)
+        {
+            ByteBuffer chunk = mChunks.get(index / mPerChunk);
+            int offset = (index % mPerChunk) * mGenomeBytes + position * mWidth;
+
+            switch(mWidth)
+            {
+                case Byte.BYTES:
+                    return chunk.get(offset);
+                case Short.BYTES:
+                    return chunk.getShort(offset);
+                default:
+                    return chunk.getInt(offset);
+            }
+        }
+
+        @Override
+        public void gene(final int index, final int position, final int value)
+        {
+            ByteBuffer chunk = mChunks.get(index / mPerChunk);
+            int offset = (index % mPerChunk) * mGenomeBytes + position * mWidth;
+
+            switch(mWidth)
+            {
+                case Byte.BYTES:
+                    chunk.put(offset, (byte)value);
+                    break;
+                case Short.BYTES:
+                    chunk.putShort(offset, (short)value);
+                    break;
+                default:
+                    chunk.putInt(offset, value);
+                    break;
+            }
+            return;
+        }
+
+        @Override
+        public void copyTo(final int index, final int destination[])
+        {
+            ByteBuffer chunk = mChunks.get(index / mPerChunk);
+            int offset = (index % mPerChunk) * mGenomeBytes;
+
+            switch(mWidth)
+            {
+                case Byte.BYTES:
+                    for(int i = 0; i < mLength; i++)
+                    {
+                        destination[i] = chunk.get(offset + i);
+                    }
+                    break;
+                case Short.BYTES:
+                    for(int i = 0; i < mLength; i++)
+                    {
+                        destination[i] = chunk.getShort(offset + i * Short.BYTES);
+                    }
+                    break;
+                default:
+                    chunk.asIntBuffer().get(offset / Integer.BYTES, destination, 0, mLength);
+                    break;
+            }
+            return;
+        }
+
+        @Override
+        public void copyFrom(final int source[], final int index)
+        {
+            ByteBuffer chunk = mChunks.get(index / mPerChunk);
+            int offset = (index % mPerChunk) * mGenomeBytes;
+
+            switch(mWidth)
+            {
+                case Byte.BYTES:
+                    for(int i = 0; i < mLength; i++)
+                    {
+                        chunk.put(offset + i, (byte)source[i]);
+                    }
+                    break;
+                case Short.BYTES:
+                    for(int i = 0; i < mLength; i++)
+                    {
+                        chunk.putShort(offset + i * Short.BYTES, (short)source[i]);
+                    }
+                    break;
+                default:
+                    chunk.asIntBuffer().put(offset / Integer.BYTES, source, 0, mLength);
+                    break;
+            }
+            return;
+        }
+
+        @Override
+        public void copy(final GenomeStore source, final int sourceIndex, final int targetIndex)
+        {
+            DirectGenomes from = null;
+
+            if(source instanceof DirectGenomes){
+                from = (DirectGenomes)source;
+                mChunks.get(targetIndex / mPerChunk).put((targetIndex % mPerChunk) * mGenomeBytes,
+                                                         from.mChunks.get(sourceIndex / from.mPerChunk),
+                                                         (sourceIndex % from.mPerChunk) * from.mGenomeBytes,
+                                                         mGenomeBytes);
+            }else{
+                copyAcross(source, sourceIndex, targetIndex);
+            }
+            return;
+        }
+
+        @Override
+        public void write(final int index, final ByteBuffer target)
+        {
+            target.put(mChunks.get(index / mPerChunk).slice((index % mPerChunk) * mGenomeBytes, mGenomeBytes));
+            return;
+        }
+
+        @Override
+        public void read(final ByteBuffer source, final int index)
+        {
+            mChunks.get(index / mPerChunk).put((index % mPerChunk) * mGenomeBytes, source, source.position(), mGenomeBytes);
+            source.position(source.position() + mGenomeBytes);
+            return;
+        }
+
+        // Only ever grows. Every chunk but the last is full, so index / mPerChunk finds a genome's
+        // chunk; growing reallocates at most the last, partly used chunk and adds new ones.
+        @Override
+        public void resize(final int capacity)
+        {
+            int last = mChunks.size() - 1;
+            int genomes = 0;
+            ByteBuffer chunk = null;
+
+            if(capacity <= mCapacity){
+                return;
+            }
+
+            if(last >= 0 && mCapacity - last * mPerChunk < mPerChunk){
+                genomes = Math.min(mPerChunk, capacity - last * mPerChunk);
+                chunk = ByteBuffer.allocateDirect(genomes * mGenomeBytes).order(ByteOrder.nativeOrder());
+                chunk.put(0, mChunks.get(last), 0, mChunks.get(last).capacity());
+                mChunks.set(last, chunk);
+                mCapacity = last * mPerChunk + genomes;
+            }
+            while(mCapacity < capacity)
+            {
+                genomes = Math.min(mPerChunk, capacity - mCapacity);
+                mChunks.add(ByteBuffer.allocateDirect(genomes * mGenomeBytes).order(ByteOrder.nativeOrder()));
+                mCapacity += genomes;
+            }
+            return;
+        }
+    }
+}
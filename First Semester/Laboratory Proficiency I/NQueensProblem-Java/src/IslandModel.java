@@ -0,0 +1,115 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Island model: independent NQueen solvers, each on its own thread, arranged in a ring.
+// Every few epochs (the migration interval) an island posts copies of its best individuals
+// into its neighbour's mailbox. The first island to reach zero conflicts stops all the others.
+public class IslandModel
+{
+    // Slot i holds the latest packet addressed to island i. Senders overwrite and receivers
+    // take with getAndSet, so neither side ever waits on the other.
+    private final AtomicReferenceArray<Population> mMailboxes;
+    private final AtomicReference<NQueen> mWinner = new AtomicReference<NQueen>(null);
+    private final AtomicBoolean mStopped = new AtomicBoolean(false);
+    private final Parameters mParameters;
+    private final String mStrategy;                              // Selection strategy name; each island builds its own instance.
+    private final int mIslands;
+
+    public IslandModel(final Parameters parameters, final String strategy)
+    {
+        parameters.validateIslands();
+        this.mParameters = parameters;
+        this.mStrategy = strategy;
+        this.mIslands = parameters.islands();
+        this.mMailboxes = new AtomicReferenceArray<Population>(this.mIslands);
+        return;
+    }
+
+    public void run()
+    {
+        NQueen islands[] = new NQueen[mIslands];
+        Thread threads[] = new Thread[mIslands];
+        NQueen winner = null;
+        int totalEpochs = 0;
+        Randomizer master = new Randomizer(mParameters.seed());
+        ConflictCache cache = null;
+
+        System.out.println("Seed: " + mParameters.seed());
+        if(mParameters.cacheSize() > 0){
+            cache = new ConflictCache(mParameters.cacheSize());  // One cache for all islands; it is lock-free.
+        }
+        for(int i = 0; i < mIslands; i++)
+        {
+            final int id = i;
+            islands[i] = new NQueen(islandParameters(), master.split());  // Split in island order, so each island's stream is fixed by the seed.
+            islands[i].selection(NQueen.selectionStrategy(mStrategy, mParameters));
+            if(cache != null){
+                islands[i].cache(cache);
+            }
+            threads[i] = new Thread(() -> evolve(islands[id], id), "island-" + i);
+            threads[i].start();
+        }
+
+        try{
+            for(int i = 0; i < mIslands; i++)
+            {
+                threads[i].join();
+                totalEpochs += islands[i].epoch();
+            }
+        }catch(InterruptedException e){
+            mStopped.set(true);
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        System.out.println("done.");
+
+        winner = mWinner.get();
+        if(winner != null){
+            winner.printSolution();
+        }
+        System.out.println("Completed " + totalEpochs + " epochs on " + mIslands + " islands.");
+        return;
+    }
+
+    // Islands already use one thread each, so their population passes run inline.
+    private Parameters islandParameters()
+    {
+        Parameters parameters = mParameters.copy();
+
+        parameters.parallelism(1);
+        return parameters;
+    }
+
+    private void evolve(final NQueen island, final int id)
+    {
+        Population packet = null;
+
+        island.initialize();
+
+        while(!mStopped.get() && island.epoch() < island.maxEpochs())
+        {
+            if(island.solution() >= 0){
+                break;
+            }
+
+            island.nextEpoch();
+
+            if(island.epoch() % mParameters.migrationInterval() == 0){
+                mMailboxes.set((id + 1) % mIslands, island.emigrants(mParameters.migrants()));
+                packet = mMailboxes.getAndSet(id, null);
+                if(packet != null){
+                    island.immigrate(packet);
+                }
+            }
+        }
+
+        if(island.solution() >= 0){
+            mWinner.compareAndSet(null, island);
+            mStopped.set(true);
+        }
+        island.shutdown();
+        return;
+    }
+}
@@ -0,0 +1,133 @@
+import java.util.Arrays;
+
+// Min-conflicts local search on the permutation representation.
+// Columns are swept in order; each attacked queen is swapped with the partner, out of a
+// handful of random candidates, that leaves the fewest conflicts. Chromosome keeps its
+// diagonal counters current, so "is this queen attacked" and "what would this swap cost"
+// are both O(1) and a sweep is near-linear in N. Sideways moves (no change) are accepted
+// so the search can walk across plateaus instead of stalling on them.
+// Usable on its own (solve) or as the local step of a memetic GA (improve).
+// The scratch arrays belong to the instance: use one instance per thread.
+public class MinConflictsSolver
+{
+    private static final int CANDIDATES = 32;                    // Random swap partners tried per attacked queen.
+    private static final int GREEDY_TRIES = 16;                  // Attempts to find a free diagonal per column at start.
+
+    private final int mLength;
+    private final Randomizer mRandom;
+    private boolean mDiagonalTaken[] = null;                     // Used by the greedy start only.
+    private boolean mAntiDiagonalTaken[] = null;
+
+    public MinConflictsSolver(final int length, final Randomizer random)
+    {
+        this.mLength = length;
+        this.mRandom = random;
+        return;
+    }
+
+    // Builds a start position and repairs it. Returns true if chromosome ends with zero conflicts.
+    public boolean solve(final Chromosome chromosome, final long maxSweeps)
+    {
+        greedyStart(chromosome);
+        return improve(chromosome, maxSweeps);
+    }
+
+    // Runs up to maxSweeps repair sweeps over chromosome. Returns true once it has zero conflicts.
+    public boolean improve(final Chromosome chromosome, final long maxSweeps)
+    {
+        long before = 0;
+
+        for(long sweep = 0; sweep < maxSweeps && chromosome.conflicts() > 0; sweep++)
+        {
+            before = chromosome.conflicts();
+            for(int i = 0; i < mLength && chromosome.conflicts() > 0; i++)
+            {
+                if(chromosome.attacked(i) == true){
+                    repair(chromosome, i);
+                }
+            }
+            if(chromosome.conflicts() >= before){
+                // A whole sweep without progress: kick a random column out of the local minimum.
+                chromosome.swap(mRandom.nextInt(mLength), mRandom.nextInt(mLength));
+            }
+        }
+        return chromosome.conflicts() == 0;
+    }
+
+    private void repair(final Chromosome chromosome, final int index)
+    {
+        int partner = 0;
+        int bestPartner = -1;
+        long delta = 0;
+        long bestDelta = Long.MAX_VALUE;
+        int tries = Math.min(CANDIDATES, mLength - 1);
+
+        for(int k = 0; k < tries; k++)
+        {
+            // Every other column when the board is small, otherwise a random one.
+            if(mLength - 1 <= CANDIDATES){
+                partner = k < index ? k : k + 1;
+            }else{
+                partner = mRandom.nextInt(mLength - 1);
+                if(partner >= index){
+                    partner++;
+                }
+            }
+
+            delta = chromosome.swapDelta(index, partner);
+            if(delta < bestDelta){
+                bestDelta = delta;
+                bestPartner = partner;
+            }
+        }
+
+        if(bestPartner >= 0 && bestDelta <= 0){
+            chromosome.swap(index, bestPartner);
+        }
+        return;
+    }
+
+    // Sosic and Gu's start: walk the columns and, for each, look for a row among the ones not
+    // yet used that sits on two free diagonals. Most columns find one, so the repair phase
+    // only has a small number of conflicts to clear.
+    private void greedyStart(final Chromosome chromosome)
+    {
+        int j = 0;
+        int row = 0;
+        boolean placed = false;
+
+        if(mDiagonalTaken == null){
+            mDiagonalTaken = new boolean[2 * mLength - 1];
+            mAntiDiagonalTaken = new boolean[2 * mLength - 1];
+        }else{
+            Arrays.fill(mDiagonalTaken, false);
+            Arrays.fill(mAntiDiagonalTaken, false);
+        }
+
+        chromosome.reset();
+        for(int i = 0; i < mLength; i++)
+        {
+            placed = false;
+            for(int t = 0; t < GREEDY_TRIES && placed == false; t++)
+            {
+                j = i + mRandom.nextInt(mLength - i);
+                row = chromosome.data(j);
+                if(mDiagonalTaken[i - row + mLength - 1] == false && mAntiDiagonalTaken[i + row] == false){
+                    placed = true;
+                }
+            }
+            if(placed == false){
+                // Out of tries: take any unused row and leave the conflict to the repair phase.
+                j = i + mRandom.nextInt(mLength - i);
+                row = chromosome.data(j);
+            }
+
+            chromosome.data(j, chromosome.data(i));
+            chromosome.data(i, row);
+            mDiagonalTaken[i - row + mLength - 1] = true;
+            mAntiDiagonalTaken[i + row] = true;
+        }
+        chromosome.computeConflicts();
+        return;
+    }
+}
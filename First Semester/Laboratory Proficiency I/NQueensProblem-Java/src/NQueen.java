@@ -1,404 +1,829 @@
-import java.util.ArrayList;
-import java.util.Random;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 
 public class NQueen
 {
-    private static final int START_SIZE = 75;                    // Population size at start.
-    private static final int MAX_EPOCHS = 1000;                  // Arbitrary number of test cycles.
-    private static final double MATING_PROBABILITY = 0.7;        // Probability of two chromosomes mating. Range: 0.0 < MATING_PROBABILITY < 1.0
-    private static final double MUTATION_RATE = 0.001;           // Mutation Rate. Range: 0.0 < MUTATION_RATE < 1.0
-    private static final int MIN_SELECT = 10;                    // Minimum parents allowed for selection.
-    private static final int MAX_SELECT = 50;                    // Maximum parents allowed for selection. Range: MIN_SELECT < MAX_SELECT < START_SIZE
-    private static final int OFFSPRING_PER_GENERATION = 20;      // New offspring created per generation. Range: 0 < OFFSPRING_PER_GENERATION < MAX_SELECT.
-    private static final int MINIMUM_SHUFFLES = 8;               // For randomizing starting chromosomes
-    private static final int MAXIMUM_SHUFFLES = 20;
-    private static final int PBC_MAX = 4;                        // Maximum Position-Based Crossover points. Range: 0 < PBC_MAX < 8 (> 8 isn't good).
-    
-    private static final int MAX_LENGTH = 10;                    // chess board width.
+    private static final int PRINTED_BOARD_MAX = 64;             // Wider boards are printed as a row list.
+    private static final int MAX_PARENT_DRAWS = 16;              // Redraws in chooseParent(parentA) before it scans.
+    private static final int STATE_LONGS = 14 + SolverMetrics.STAGES;  // Values checkpoint() saves besides the population.
+
+    private final Parameters parameters;
+    private final int boardSize;                                 // parameters.boardSize(), read on every gene draw.
 
-    private static int epoch = 0;
-    private static int childCount = 0;
-    private static int nextMutation = 0;                         // For scheduling mutations.
-    private static int mutations = 0;
+    private int epoch = 0;
+    private int childCount = 0;
+    private int nextMutation = 0;                         // For scheduling mutations.
+    private int nextSchedule = 0;                                // childCount at which the next mutation is scheduled.
+    private int mutations = 0;
 
-    private static ArrayList<Chromosome> population = new ArrayList<Chromosome>();
+    private Population population = null;
+    private Population offspring = null;
+    private PopulationTasks tasks = null;                        // Fork-join passes over the population.
+    private EpochStatistics statistics = new EpochStatistics();  // Kept current for the population after every change.
+    private Randomizer random = null;                            // This solver's own stream; never shared between threads.
+    private long survivorKeys[] = null;                          // (conflicts << rankBits | index), sorted for ranking.
+    private long rankMask = 0;                                   // Index bits of a survivor key.
+    private SelectionStrategy selection = new RouletteSelection();
+    private int parents[] = null;                                // Indices chosen by selection this epoch; duplicates allowed.
+    private int parentCount = 0;
+    private PermutationCrossover crossover = null;
+    private int crossoverOperator = PermutationCrossover.PARTIALLY_MAPPED;
+    private Chromosome child1 = null;                            // Work space for offspring before they are stored.
+    private Chromosome child2 = null;
+    private GenomeHash hashKeys = null;                          // Same keys in every solver, so hashes compare across islands.
+    private ConflictCache cache = null;                          // Scores of genomes seen before; may be shared.
+    private long sortedHashes[] = null;                          // Population hashes, sorted, for duplicate checks and diversity.
+    private int duplicates = 0;                                  // Children dropped as copies of an existing genome.
+    private BatchEvaluator evaluator = null;                     // Scores offspring in one pass; null scores each child as it is stored.
+    private StagnationController stagnation = null;              // Raises mutation and restarts the worst when progress stalls.
+    private MinConflictsSolver localSearch = null;               // Memetic step for offspring when parameters.memeticSteps() > 0.
+    private SolverMetrics metrics = new SolverMetrics();         // Stage timers and evaluation count.
     
-    private static void algorithm()
+    public NQueen(final Parameters parameters, final Randomizer random)
     {
-        int popSize = 0;
-        Chromosome thisChromo = null;
-        boolean done = false;
+        parameters.validate();
+        this.parameters = parameters;
+        this.boardSize = parameters.boardSize();
+        this.population = new Population(boardSize, parameters.maxPopulation(), parameters.offHeap());
+        this.offspring = new Population(boardSize, 2 * parameters.offspringPerGeneration(), parameters.offHeap());
+        this.survivorKeys = new long[parameters.maxPopulation()];
+        this.parents = new int[parameters.maxSelect()];
+        this.crossover = new PermutationCrossover(boardSize, parameters.pbcMax());
+        this.hashKeys = new GenomeHash(boardSize);
+        this.sortedHashes = new long[parameters.maxPopulation()];
+        if(parameters.cacheSize() > 0){
+            this.cache = new ConflictCache(parameters.cacheSize());
+        }
+        this.child1 = new Chromosome(boardSize, hashKeys, cache);
+        this.child2 = new Chromosome(boardSize, hashKeys, cache);
+        this.tasks = new PopulationTasks(parameters.parallelism());
+        this.stagnation = new StagnationController(parameters);
+        if(parameters.batchEvaluation() == true){
+            this.evaluator = BatchEvaluator.create(boardSize, parameters.vectorEvaluation());
+        }
+        this.random = random;
+        this.localSearch = new MinConflictsSolver(boardSize, random);
+        return;
+    }
+
+    //  To choose a selection strategy, pass one of:
+    //     new RouletteSelection(), new StochasticUniversalSampling(),
+    //     new TournamentSelection(parameters.tournamentSize())
+    //  Roulette is the default.
+    public void selection(final SelectionStrategy strategy)
+    {
+        this.selection = strategy;
+        return;
+    }
+
+    // Replaces this solver's conflict cache, e.g. with one shared by every island.
+    public void cache(final ConflictCache cache)
+    {
+        this.cache = cache;
+        this.child1 = new Chromosome(boardSize, hashKeys, cache);
+        this.child2 = new Chromosome(boardSize, hashKeys, cache);
+        return;
+    }
+
+    public void crossoverOperator(final int operator)
+    {
+        this.crossoverOperator = operator;
+        return;
+    }
+
+    // Maps "roulette", "sus" or "tournament" to a new strategy instance.
+    public static SelectionStrategy selectionStrategy(final String name, final Parameters parameters)
+    {
+        if(name.equalsIgnoreCase("roulette")){
+            return new RouletteSelection();
+        }else if(name.equalsIgnoreCase("sus")){
+            return new StochasticUniversalSampling();
+        }else if(name.equalsIgnoreCase("tournament")){
+            return new TournamentSelection(parameters.tournamentSize());
+        }
+        throw new IllegalArgumentException("Unknown selection strategy: " + name);
+    }
+
+    // checkpoint may be null; with resume set the run continues from its newest save.
+    private void algorithm(final Checkpoint checkpoint, final boolean resume)
+    {
+        ProgressReporter progress = new ProgressReporter(System.out, parameters.progressInterval());
+        long start = System.nanoTime();
+        long allowed = allowed(deadline(parameters.timeBudget()));
+
+        if(resume == true){
+            try{
+                resume(checkpoint);
+            }catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+            System.out.println("Resumed from " + checkpoint.file() + " at epoch " + epoch + ".");
+        }else{
+            initialize();
+        }
+        if(evaluator != null){
+            System.out.println("Offspring evaluation: " + evaluator.description());
+        }
+
+        // Runtime status, rate-limited so printing never holds up the loop, and checkpoints.
+        evolve(start, allowed, null, null, solver -> {
+            progress.epoch(solver);
+            if(checkpoint != null && checkpoint.due() == true){
+                save(checkpoint);
+            }
+        });
+        if(statistics.solved() == false && epoch < parameters.maxEpochs()){
+            System.out.println("Time budget of " + parameters.timeBudget() + " ms used up.");
+        }
+
+        // An unsolved run can be resumed later with a larger maxEpochs.
+        if(checkpoint != null && statistics.solved() == false){
+            save(checkpoint);
+        }
+        
+        progress.report(this);
+        System.out.println("done.");
+        
+        if(statistics.solved() == true){
+            printbestSolution(statistics.bestIndex());
+        }else{
+            System.out.println("No solution yet; the best board has " + statistics.minimum() + " conflicts.");
+            printbestSolution(statistics.bestIndex());
+        }
+        System.out.println("Completed " + epoch + " epochs.");
+        System.out.println("Encountered " + mutations + " mutations in " + childCount + " offspring.");
+        System.out.println("Time per stage: " + metrics.stageSummary());
+        if(cache != null){
+            System.out.println("Conflict cache: " + cache.hits() + " hits, " + cache.misses() + " misses.");
+        }
+        if(parameters.rejectDuplicates() == true){
+            System.out.println("Rejected " + duplicates + " duplicate offspring.");
+        }
+        if(stagnation.enabled() == true){
+            System.out.println("Restarted the worst individuals " + stagnation.restarts() + " times.");
+        }
+        shutdown();
+        return;
+    }
+
+    // Starts a fresh run: any earlier population and counters are dropped, so one solver can
+    // run solve() again. The conflict cache is kept; its scores still hold.
+    public void initialize()
+    {
+        long start = 0;
 
+        population.clear();
+        offspring.clear();
+        epoch = 0;
+        childCount = 0;
+        duplicates = 0;
+        stagnation.reset();
+        metrics.reset();
         initializeChromosomes();
+        metrics.evaluations(population.size());
+        start = System.nanoTime();
+        statistics = tasks.statistics(population);
+        metrics.add(SolverMetrics.FITNESS, System.nanoTime() - start);
         mutations = 0;
-        nextMutation = getRandomNumber(0, (int)Math.round(1.0 / MUTATION_RATE));
-        
-        while(!done)
+        nextMutation = getRandomNumber(0, mutationInterval());
+        nextSchedule = mutationInterval();
+        return;
+    }
+
+    // Runs the GA without printing until it is solved, maxEpochs have passed or budgetMillis
+    // (0 for no limit) has run out, then returns true if it found a solution. The batch
+    // runner's entry point; algorithm() is the console one.
+    public boolean solve(final long budgetMillis)
+    {
+        return solve(deadline(budgetMillis), null, null).conflicts() == 0;
+    }
+
+    // Anytime solve: runs until the board is solved, maxEpochs have passed, the deadline
+    // (null for none) is reached or token (may be null) is cancelled, and returns the board
+    // with the fewest conflicts found, solved or not. listener (may be null) hears of every
+    // improvement as it happens. Both limits are checked between epochs, so a solve overruns
+    // the deadline by at most one epoch.
+    public Chromosome solve(final Instant deadline, final CancellationToken token, final BestSoFarListener listener)
+    {
+        return solve(deadline, token, listener, null);
+    }
+
+    // As above, with epochs (may be null) called after every epoch.
+    public Chromosome solve(final Instant deadline, final CancellationToken token, final BestSoFarListener listener, final EpochListener epochs)
+    {
+        long start = System.nanoTime();
+        long allowed = allowed(deadline);
+
+        initialize();
+        return evolve(start, allowed, token, listener, epochs);
+    }
+
+    // The one epoch loop, shared by solve() and the console run, over an initialized or resumed
+    // population. Stops once solved, at maxEpochs, allowed nanoseconds after start, or when
+    // token is cancelled; every argument after allowed may be null.
+    private Chromosome evolve(final long start, final long allowed, final CancellationToken token, final BestSoFarListener listener, final EpochListener epochs)
+    {
+        long best = Long.MAX_VALUE;
+
+        while(true)
         {
-            popSize = population.size();
-            for(int i = 0; i < popSize; i++)
-            {
-                thisChromo = population.get(i);
-                if((thisChromo.conflicts() == 0) || epoch == MAX_EPOCHS){
-                    done = true;
+            if(statistics.minimum() < best){
+                best = statistics.minimum();
+                if(listener != null){
+                    listener.improved(best(), epoch);
                 }
             }
-            
-            getFitness();
-            
-            rouletteSelection();
-            
-            mating();
-
-            prepNextEpoch();
-            
-            epoch++;
-            // This is here simply to show the runtime status.
-            System.out.println("Epoch: " + epoch);
+
+            if(statistics.solved() == true || epoch >= parameters.maxEpochs()){
+                break;
+            }
+            if(System.nanoTime() - start >= allowed){
+                break;
+            }
+            if(token != null && token.cancelled() == true){
+                break;
+            }
+            nextEpoch();
+            if(epochs != null){
+                epochs.epoch(this);
+            }
+        }
+
+        if(statistics.solved() == true){
+            checkSolution(statistics.bestIndex());
+        }
+        return best();
+    }
+
+    // Nanoseconds from now until deadline; Long.MAX_VALUE, never reached, for none.
+    private static long allowed(final Instant deadline)
+    {
+        if(deadline == null){
+            return Long.MAX_VALUE;
         }
+        return Math.max(0, Duration.between(Instant.now(), deadline).toNanos());
+    }
+
+    // Copy of the population's lowest-conflict board.
+    public Chromosome best()
+    {
+        Chromosome best = new Chromosome(boardSize, hashKeys, null);
+
+        best.load(population, statistics.bestIndex());
+        return best;
+    }
+
+    // parameters.timeBudget() and the like as a deadline from now; null for 0, no limit.
+    public static Instant deadline(final long budgetMillis)
+    {
+        if(budgetMillis <= 0){
+            return null;
+        }
+        return Instant.now().plusMillis(budgetMillis);
+    }
+
+    // Runs one generation over the current population.
+    public void nextEpoch()
+    {
+        EpochEvent event = new EpochEvent();
+        boolean recording = event.isEnabled();
+        long start = 0;
+
+        if(recording == true){
+            event.begin();
+            event.selection = metrics.nanos(SolverMetrics.SELECTION);
+            event.mating = metrics.nanos(SolverMetrics.MATING);
+            event.mutation = metrics.nanos(SolverMetrics.MUTATION);
+            event.fitness = metrics.nanos(SolverMetrics.FITNESS);
+            event.survival = metrics.nanos(SolverMetrics.SURVIVAL);
+        }
+
+        start = System.nanoTime();
+        parentCount = getRandomNumber(parameters.minSelect(), parameters.maxSelect());
+        selection.select(population, statistics, tasks, random, parents, parentCount);
+        metrics.add(SolverMetrics.SELECTION, System.nanoTime() - start);
         
-        System.out.println("done.");
+        mating();
+
+        survivorSelection();
         
-        if(epoch != MAX_EPOCHS){
-            popSize = population.size();
-            for(int i = 0; i < popSize; i++)
-            {
-                thisChromo = population.get(i);
-                if(thisChromo.conflicts() == 0){
-                    printbestSolution(thisChromo);
-                }
+        epoch++;
+
+        if(stagnation.enabled() == true && statistics.solved() == false){
+            adapt();
+        }
+
+        if(recording == true){
+            event.end();
+            if(event.shouldCommit()){
+                event.epoch = epoch;
+                event.boardSize = boardSize;
+                event.population = population.size();
+                event.best = statistics.minimum();
+                event.mean = statistics.mean();
+                event.worst = statistics.maximum();
+                event.children = childCount;
+                event.mutations = mutations;
+                event.diversity = diversity();
+                event.selection = metrics.nanos(SolverMetrics.SELECTION) - event.selection;
+                event.mating = metrics.nanos(SolverMetrics.MATING) - event.mating;
+                event.mutation = metrics.nanos(SolverMetrics.MUTATION) - event.mutation;
+                event.fitness = metrics.nanos(SolverMetrics.FITNESS) - event.fitness;
+                event.survival = metrics.nanos(SolverMetrics.SURVIVAL) - event.survival;
+                event.commit();
             }
         }
-        System.out.println("Completed " + epoch + " epochs.");
-        System.out.println("Encountered " + mutations + " mutations in " + childCount + " offspring.");
         return;
     }
-    
-    private static void getFitness()
+
+    // Saves everything the coming epochs depend on: the population, every counter and the
+    // random stream. The conflict cache is left out; it only saves work.
+    public void checkpoint(final Checkpoint checkpoint) throws IOException
     {
-        // Lowest errors = 100%, Highest errors = 0%
-        int popSize = population.size();
-        Chromosome thisChromo = null;
-        double bestScore = 0;
-        double worstScore = 0;
+        long state[] = new long[STATE_LONGS];
+        int k = 0;
+
+        state[k++] = epoch;
+        state[k++] = childCount;
+        state[k++] = nextMutation;
+        state[k++] = nextSchedule;
+        state[k++] = mutations;
+        state[k++] = duplicates;
+        state[k++] = random.state();
+        state[k++] = random.gamma();
+        state[k++] = stagnation.best();
+        state[k++] = stagnation.stagnant();
+        state[k++] = stagnation.boost();
+        state[k++] = stagnation.restarts();
+        state[k++] = metrics.evaluations();
+        state[k++] = metrics.elapsedNanos();
+        for(int i = 0; i < SolverMetrics.STAGES; i++)
+        {
+            state[k++] = metrics.nanos(i);
+        }
+        checkpoint.save(state, population);
+        return;
+    }
+
+    // Takes the place of initialize(): the run carries on exactly as it would have from the save.
+    public void resume(final Checkpoint checkpoint) throws IOException
+    {
+        long state[] = checkpoint.load(population);
+        long nanos[] = new long[SolverMetrics.STAGES];
+        long evaluations = 0;
+        long elapsed = 0;
+        int k = 0;
+
+        if(state.length != STATE_LONGS){
+            throw new IllegalArgumentException("Checkpoint " + checkpoint.file() + " holds " + state.length + " state values, not " + STATE_LONGS);
+        }
+        if(population.size() > parameters.maxPopulation()){
+            throw new IllegalArgumentException("Checkpoint " + checkpoint.file() + " holds " + population.size() + " individuals, more than maxPopulation");
+        }
+
+        epoch = (int)state[k++];
+        childCount = (int)state[k++];
+        nextMutation = (int)state[k++];
+        nextSchedule = (int)state[k++];
+        mutations = (int)state[k++];
+        duplicates = (int)state[k++];
+        random.restore(state[k++], state[k++]);
+        stagnation.restore(state[k++], (int)state[k++], (int)state[k++], (int)state[k++]);
+        evaluations = state[k++];
+        elapsed = state[k++];
+        for(int i = 0; i < SolverMetrics.STAGES; i++)
+        {
+            nanos[i] = state[k++];
+        }
+        metrics.restore(nanos, evaluations, elapsed);
+        offspring.clear();
+        statistics = tasks.statistics(population);
+        return;
+    }
+
+    // A failed save is reported, not fatal: the run itself is still good.
+    private void save(final Checkpoint checkpoint)
+    {
+        try{
+            checkpoint(checkpoint);
+        }catch(IOException e){
+            System.err.println("Checkpoint failed: " + e.getMessage());
+        }
+        return;
+    }
+
+    public void shutdown()
+    {
+        tasks.shutdown();
+        return;
+    }
+
+    public int epoch()
+    {
+        return epoch;
+    }
+
+    public int maxEpochs()
+    {
+        return parameters.maxEpochs();
+    }
+
+    public EpochStatistics statistics()
+    {
+        return statistics;
+    }
+
+    public SolverMetrics metrics()
+    {
+        return metrics;
+    }
+
+    public int childCount()
+    {
+        return childCount;
+    }
 
-        // The worst score would be the one with the highest energy, best would be lowest.
-        worstScore = population.get(maximum()).conflicts();
+    public int mutations()
+    {
+        return mutations;
+    }
 
-        // Convert to a weighted percentage.
-        bestScore = worstScore - population.get(minimum()).conflicts();
+    // Share of the population that is a distinct genome, by hash: 1.0 means no two are alike.
+    public double diversity()
+    {
+        int popSize = sortHashes();
+        int distinct = 0;
 
         for(int i = 0; i < popSize; i++)
         {
-            thisChromo = population.get(i);
-            thisChromo.fitness((worstScore - thisChromo.conflicts()) * 100.0 / bestScore);
+            if(i == 0 || sortedHashes[i] != sortedHashes[i - 1]){
+                distinct++;
+            }
+        }
+        if(popSize == 0){
+            return 0;
+        }
+        return (double)distinct / popSize;
+    }
+
+    // Returns the index of a zero-conflict individual, or -1 if there is none yet.
+    public int solution()
+    {
+        if(statistics.solved() == true){
+            return statistics.bestIndex();
+        }
+        return -1;
+    }
+
+    public void printSolution()
+    {
+        int index = solution();
+
+        if(index >= 0){
+            printbestSolution(index);
         }
-        
         return;
     }
-    
-    private static void rouletteSelection()
+
+    // Copies the best count individuals into a new Population, ready to hand to another island.
+    public Population emigrants(final int count)
     {
-        int j = 0;
         int popSize = population.size();
-        double genTotal = 0.0;
-        double selTotal = 0.0;
-        int maximumToSelect = getRandomNumber(MIN_SELECT, MAX_SELECT);
-        double rouletteSpin = 0.0;
-        Chromosome thisChromo = null;
-        Chromosome thatChromo = null;
-        boolean done = false;
+        Population packet = new Population(boardSize, count);
 
-        for(int i = 0; i < popSize; i++)
+        rank();
+        for(int i = 0; i < count && i < popSize; i++)
         {
-            thisChromo = population.get(i);
-            genTotal += thisChromo.fitness();
+            packet.copy(population, ranked(i), packet.add());
         }
+        return packet;
+    }
 
-        genTotal *= 0.01;
+    // Takes in individuals from another island; they replace the worst, never the elite.
+    public void immigrate(final Population packet)
+    {
+        int packetSize = packet.size();
+
+        for(int i = 0; i < packetSize; i++)
+        {
+            offspring.copy(packet, i, offspring.add());
+        }
+        survivorSelection();
+        return;
+    }
+
+    // Confirms a zero-conflict individual with the bitboard oracle, on boards narrow enough for it.
+    private void checkSolution(final int index)
+    {
+        int rows[] = null;
+
+        if(boardSize <= BitboardSolver.MAX_SIZE){
+            rows = new int[boardSize];
+            population.copyGenesTo(index, rows);
+            if(BitboardSolver.isSolution(rows) == false){
+                throw new IllegalStateException("Individual " + index + " has zero conflicts but is not a solution");
+            }
+        }
+        return;
+    }
+
+    // Feeds this epoch to the stagnation controller and acts on its answer.
+    private void adapt()
+    {
+        int boost = stagnation.boost();
+        double diversity = 1.0;
+
+        // Diversity sorts every hash, so only measure it when the controller will look at it.
+        if(parameters.minDiversity() > 0){
+            diversity = diversity();
+        }
+        if(stagnation.observe(statistics.minimum(), diversity) == true){
+            restartWorst();
+        }
+        if(stagnation.boost() != boost){
+            // The rate changed, so the pending mutation may now be far too late; draw it again.
+            scheduleMutation();
+        }
+        return;
+    }
+
+    // Children between mutations at the current rate, i.e. parameters.mutationRate() times the boost.
+    private int mutationInterval()
+    {
+        return Math.max(1, (int)Math.round(1.0 / (parameters.mutationRate() * stagnation.boost())));
+    }
+
+    private void scheduleMutation()
+    {
+        int interval = mutationInterval();
+
+        nextMutation = childCount + getRandomNumber(0, interval);
+        nextSchedule = childCount + interval;
+        return;
+    }
+
+    // Replaces the worst parameters.restartFraction() of the population, never the elite,
+    // with fresh random genomes.
+    private void restartWorst()
+    {
+        int popSize = population.size();
+        int count = (int)Math.round(parameters.restartFraction() * popSize);
+        int slot = popSize - 1;
+
+        rank();
+        while(count > 0 && slot >= parameters.eliteCount())
+        {
+            child1.reset();
+            shuffle(child1);
+            child1.store(population, ranked(slot));
+            metrics.evaluations(1);
+            count--;
+            slot--;
+        }
+        statistics = tasks.statistics(population);
+        return;
+    }
+
+    private void scramble(final Chromosome chromosome, final int swaps)
+    {
+        for(int k = 0; k < swaps; k++)
+        {
+            chromosome.swap(random.nextInt(boardSize), random.nextInt(boardSize));
+        }
+        return;
+    }
+
+    // Fisher-Yates: every permutation equally likely.
+    private void shuffle(final Chromosome chromosome)
+    {
+        for(int i = boardSize - 1; i > 0; i--)
+        {
+            chromosome.swap(i, random.nextInt(i + 1));
+        }
+        return;
+    }
+
+    // Copies the population's hashes into sortedHashes in order and returns how many there are.
+    private int sortHashes()
+    {
+        int popSize = population.size();
 
         for(int i = 0; i < popSize; i++)
         {
-            thisChromo = population.get(i);
-            thisChromo.selectionProbability(thisChromo.fitness() / genTotal);
+            sortedHashes[i] = population.hash(i);
         }
+        Arrays.sort(sortedHashes, 0, popSize);
+        return popSize;
+    }
+
+    // True if a genome with this hash is already in the population or this epoch's offspring.
+    private boolean duplicate(final long hash, final int sortedCount)
+    {
+        int childSize = offspring.size();
 
-        for(int i = 0; i < maximumToSelect; i++)
+        if(Arrays.binarySearch(sortedHashes, 0, sortedCount, hash) >= 0){
+            return true;
+        }
+        for(int i = 0; i < childSize; i++)
         {
-            rouletteSpin = getRandomNumber(0, 99);
-            j = 0;
-            selTotal = 0;
-            done = false;
-            while(!done)
-            {
-                thisChromo = population.get(j);
-                selTotal += thisChromo.selectionProbability();
-                if(selTotal >= rouletteSpin){
-                    if(j == 0){
-                        thatChromo = population.get(j);
-                    }else if(j >= popSize - 1){
-                        thatChromo = population.get(popSize - 1);
-                    }else{
-                        thatChromo = population.get(j - 1);
-                    }
-                    thatChromo.selected(true);
-                    done = true;
-                }else{
-                    j++;
-                }
+            if(offspring.hash(i) == hash){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Sorts the population by conflicts into survivorKeys. Each key packs the count above just
+    // enough bits for the index, so a count of up to 2^(63 - bits) still sorts as one long.
+    private void rank()
+    {
+        int popSize = population.size();
+        int rankBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, popSize - 1));
+        long conflicts = 0;
+
+        rankMask = (1L << rankBits) - 1;
+        for(int i = 0; i < popSize; i++)
+        {
+            conflicts = population.conflicts(i);
+            if(conflicts > (Long.MAX_VALUE >>> rankBits)){
+                throw new IllegalStateException(conflicts + " conflicts do not fit a ranking key beside " + rankBits + " index bits");
             }
+            survivorKeys[i] = (conflicts << rankBits) | i;
         }
+        Arrays.sort(survivorKeys, 0, popSize);
         return;
     }
+
+    // Index of the individual at position rank of the last rank(), 0 being the best.
+    private int ranked(final int rank)
+    {
+        return (int)(survivorKeys[rank] & rankMask);
+    }
     
     //  This is where you can choose between options:
 
-    //  To choose between crossover options, uncomment one of: 
-    //     partiallyMappedCrossover(),
-    //     positionBasedCrossover(), while keeping the other two commented out.
+    //  To choose between crossover options, set crossoverOperator to one of the
+    //  PermutationCrossover operators: PARTIALLY_MAPPED, POSITION_BASED, ORDER or CYCLE.
 
-    //  Keep in mind that the code will still run if(you try combinations or uncomment all of them,
-    //  but this might hinder the algorithm in general.
+    //  Keep in mind that the operators behave quite differently on this problem;
+    //  partially mapped is the default because it keeps the most of each parent.
     //  Of course, I could always be wrong, try it and find out!
-    private static void mating()
+    private void mating()
     {
         int getRand = 0;
         int parentA = 0;
         int parentB = 0;
         int newIndex1 = 0;
         int newIndex2 = 0;
-        Chromosome newChromo1 = null;
-        Chromosome newChromo2 = null;
+        long start = System.nanoTime();
+        long mutationStart = 0;
+        long mutationNanos = 0;                                  // Timed apart, and only on the children that mutate.
+        int sortedCount = 0;
 
-        for(int i = 0; i < OFFSPRING_PER_GENERATION; i++)
+        if(parameters.rejectDuplicates() == true){
+            sortedCount = sortHashes();
+        }
+
+        for(int i = 0; i < parameters.offspringPerGeneration(); i++)
         {
             parentA = chooseParent();
             // Test probability of mating.
             getRand = getRandomNumber(0, 100);
-            if(getRand <= MATING_PROBABILITY * 100){
+            if(getRand <= parameters.matingProbability() * 100){
                 parentB = chooseParent(parentA);
-                newChromo1 = new Chromosome();
-                newChromo2 = new Chromosome();
-                population.add(newChromo1);
-                newIndex1 = population.indexOf(newChromo1);
-                population.add(newChromo2);
-                newIndex2 = population.indexOf(newChromo2);
                 
-                // Choose either, or both of these:
-                partiallyMappedCrossover(parentA, parentB, newIndex1, newIndex2);
-                //positionBasedCrossover(parentA, parentB, newIndex1, newIndex2);
-
-                if(childCount - 1 == nextMutation){
-                    exchangeMutation(newIndex1, 1);
-                }else if(childCount == nextMutation){
-                    exchangeMutation(newIndex2, 1);
+                crossover.cross(crossoverOperator, population, parentA, parentB, child1, child2, random);
+
+                if(childCount - 1 == nextMutation || childCount == nextMutation || stagnation.disruption() > 0 || parameters.memeticSteps() > 0){
+                    mutationStart = System.nanoTime();
+                    if(childCount - 1 == nextMutation){
+                        exchangeMutation(child1, stagnation.boost());
+                    }else if(childCount == nextMutation){
+                        exchangeMutation(child2, stagnation.boost());
+                    }
+
+                    if(stagnation.disruption() > 0){
+                        scramble(child1, stagnation.disruption());
+                        scramble(child2, stagnation.disruption());
+                    }
+
+                    if(parameters.memeticSteps() > 0){
+                        localSearch.improve(child1, parameters.memeticSteps());
+                        localSearch.improve(child2, parameters.memeticSteps());
+                    }
+                    mutationNanos += System.nanoTime() - mutationStart;
                 }
 
-                population.get(newIndex1).computeConflicts();
-                population.get(newIndex2).computeConflicts();
+                if(parameters.rejectDuplicates() == true && duplicate(child1.hash(), sortedCount) == true){
+                    duplicates++;
+                }else{
+                    newIndex1 = offspring.add();
+                    storeChild(child1, newIndex1);
+                }
+                if(parameters.rejectDuplicates() == true && duplicate(child2.hash(), sortedCount) == true){
+                    duplicates++;
+                }else{
+                    newIndex2 = offspring.add();
+                    storeChild(child2, newIndex2);
+                }
 
                 childCount += 2;
 
                 // Schedule next mutation.
-                if(childCount % (int)Math.round(1.0 / MUTATION_RATE) == 0){
-                    nextMutation = childCount + getRandomNumber(0, (int)Math.round(1.0 / MUTATION_RATE));
+                if(childCount >= nextSchedule){
+                    scheduleMutation();
                 }
             }
         } // i
-        return;
-    }
-    
-    private static void partiallyMappedCrossover(int chromA, int chromB, int child1, int child2)
-    {
-        int j = 0;
-        int item1 = 0;
-        int item2 = 0;
-        int pos1 = 0;
-        int pos2 = 0;
-        Chromosome thisChromo = population.get(chromA);
-        Chromosome thatChromo = population.get(chromB);
-        Chromosome newChromo1 = population.get(child1);
-        Chromosome newChromo2 = population.get(child2);
-        int crossPoint1 = getRandomNumber(0, MAX_LENGTH - 1);
-        int crossPoint2 = getExclusiveRandomNumber(MAX_LENGTH - 1, crossPoint1);
-        
-        if(crossPoint2 < crossPoint1){
-            j = crossPoint1;
-            crossPoint1 = crossPoint2;
-            crossPoint2 = j;
-        }
 
-        // Copy Parent genes to offspring.
-        for(int i = 0; i < MAX_LENGTH; i++)
-        {
-            newChromo1.data(i, thisChromo.data(i));
-            newChromo2.data(i, thatChromo.data(i));
+        if(evaluator != null){
+            evaluator.evaluate(offspring, 0, offspring.size());
         }
 
-        for(int i = crossPoint1; i <= crossPoint2; i++)
-        {
-            // Get the two items to swap.
-            item1 = thisChromo.data(i);
-            item2 = thatChromo.data(i);
-
-            // Get the items//  positions in the offspring.
-            for(j = 0; j < MAX_LENGTH; j++)
-            {
-                if(newChromo1.data(j) == item1){
-                    pos1 = j;
-                }else if(newChromo1.data(j) == item2){
-                    pos2 = j;
-                }
-            } // j
-
-            // Swap them.
-            if(item1 != item2){
-                newChromo1.data(pos1, item2);
-                newChromo1.data(pos2, item1);
-            }
-
-            // Get the items//  positions in the offspring.
-            for(j = 0; j < MAX_LENGTH; j++)
-            {
-                if(newChromo2.data(j) == item2){
-                    pos1 = j;
-                }else if(newChromo2.data(j) == item1){
-                    pos2 = j;
-                }
-            } // j
-
-            // Swap them.
-            if(item1 != item2){
-                newChromo2.data(pos1, item1);
-                newChromo2.data(pos2, item2);
-            }
-
-        } // i
+        metrics.add(SolverMetrics.MUTATION, mutationNanos);
+        metrics.add(SolverMetrics.MATING, System.nanoTime() - start - mutationNanos);
+        metrics.evaluations(offspring.size());
         return;
     }
     
-    private static void positionBasedCrossover(int chromA, int chromB, int child1, int child2)
+    // With a batch evaluator the child is scored later, with the rest of the epoch's offspring.
+    private void storeChild(final Chromosome child, final int index)
     {
-        int k = 0;
-        int numPoints = 0;
-        int tempArray1[] = new int[MAX_LENGTH];
-        int tempArray2[] = new int[MAX_LENGTH];
-        boolean matchFound = false;
-        Chromosome thisChromo = population.get(chromA);
-        Chromosome thatChromo = population.get(chromB);
-        Chromosome newChromo1 = population.get(child1);
-        Chromosome newChromo2 = population.get(child2);
-
-        // Choose and sort the crosspoints.
-        numPoints = getRandomNumber(0, PBC_MAX);
-        int crossPoints[] = new int[numPoints];
-        for(int i = 0; i < numPoints; i++)
-        {
-            crossPoints[i] = getRandomNumber(0, MAX_LENGTH - 1, crossPoints);
-        } // i
+        if(evaluator != null){
+            child.storeGenes(offspring, index);
+        }else{
+            child.store(offspring, index);
+        }
+        return;
+    }
 
-        // Get non-chosens from parent 2
-        k = 0;
-        for(int i = 0; i < MAX_LENGTH; i++)
-        {
-            matchFound = false;
-            for(int j = 0; j < numPoints; j++)
-            {
-                if(thatChromo.data(i) == thisChromo.data(crossPoints[j])){
-                    matchFound = true;
-                }
-            } // j
-            if(matchFound == false){
-                tempArray1[k] = thatChromo.data(i);
-                k++;
-            }
-        } // i
+    private void survivorSelection()
+    {
+        int popSize = population.size();
+        int childSize = offspring.size();
+        int next = 0;
+        int slot = 0;
+        int index = 0;
+        long start = System.nanoTime();
+        long fitnessStart = 0;
 
-        // Insert chosens into child 1.
-        for(int i = 0; i < numPoints; i++)
+        // Fill up to capacity first. Appends only add to the statistics, so fold them in directly.
+        while(next < childSize && population.size() < parameters.maxPopulation())
         {
-            newChromo1.data(crossPoints[i], thisChromo.data(crossPoints[i]));
+            index = population.add();
+            population.copy(offspring, next, index);
+            statistics.accept(index, population.conflicts(index));
+            next++;
         }
 
-        // Fill in non-chosens to child 1.
-        k = 0;
-        for(int i = 0; i < MAX_LENGTH; i++)
-        {
-            matchFound = false;
-            for(int j = 0; j < numPoints; j++)
-            {
-                if(i == crossPoints[j]){
-                    matchFound = true;
-                }
-            } // j
-            if(matchFound == false){
-                newChromo1.data(i, tempArray1[k]);
-                k++;
-            }
-        } // i
+        if(next < childSize){
+            // Rank by conflicts; the elite stay at the front, the worst are overwritten from the back.
+            popSize = population.size();
+            rank();
 
-        // Get non-chosens from parent 1
-        k = 0;
-        for(int i = 0; i < MAX_LENGTH; i++)
-        {
-            matchFound = false;
-            for(int j = 0; j < numPoints; j++)
+            slot = popSize - 1;
+            while(next < childSize && slot >= parameters.eliteCount())
             {
-                if(thisChromo.data(i) == thatChromo.data(crossPoints[j])){
-                    matchFound = true;
-                }
-            } // j
-            if(matchFound == false){
-                tempArray2[k] = thisChromo.data(i);
-                k++;
+                population.copy(offspring, next, ranked(slot));
+                next++;
+                slot--;
             }
-        } // i
 
-        // Insert chosens into child 2.
-        for(int i = 0; i < numPoints; i++)
-        {
-            newChromo2.data(crossPoints[i], thatChromo.data(crossPoints[i]));
+            // Replacing the worst can lower the maximum, which only a fresh pass can find.
+            fitnessStart = System.nanoTime();
+            statistics = tasks.statistics(population);
+            metrics.add(SolverMetrics.FITNESS, System.nanoTime() - fitnessStart);
+            start += System.nanoTime() - fitnessStart;
         }
 
-        // Fill in non-chosens to child 2.
-        k = 0;
-        for(int i = 0; i < MAX_LENGTH; i++)
-        {
-            matchFound = false;
-            for(int j = 0; j < numPoints; j++)
-            {
-                if(i == crossPoints[j]){
-                    matchFound = true;
-                }
-            } // j
-            if(matchFound == false){
-                newChromo2.data(i, tempArray2[k]);
-                k++;
-            }
-        } // i
+        offspring.clear();
+        metrics.add(SolverMetrics.SURVIVAL, System.nanoTime() - start);
         return;
     }
     
-    private static void exchangeMutation(final int index, final int exchanges)
+    // Package-private so the benchmark workloads can time it on its own.
+    void exchangeMutation(final Chromosome thisChromo, final int exchanges)
     {
         int i =0;
-        int tempData = 0;
-        Chromosome thisChromo = null;
         int gene1 = 0;
         int gene2 = 0;
         boolean done = false;
-        
-        thisChromo = population.get(index);
 
         while(!done)
         {
-            gene1 = getRandomNumber(0, MAX_LENGTH - 1);
-            gene2 = getExclusiveRandomNumber(MAX_LENGTH - 1, gene1);
+            gene1 = getRandomNumber(0, boardSize - 1);
+            gene2 = getExclusiveRandomNumber(boardSize - 1, gene1);
 
             // Exchange the chosen genes.
-            tempData = thisChromo.data(gene1);
-            thisChromo.data(gene1, thisChromo.data(gene2));
-            thisChromo.data(gene2, tempData);
+            thisChromo.swap(gene1, gene2);
 
             if(i == exchanges){
                 done = true;
@@ -409,86 +834,87 @@ public class NQueen
         return;
     }
     
-    private static int chooseParent()
+    private int chooseParent()
     {
         // Overloaded function, see also "chooseparent(ByVal parentA As Integer)".
-        int parent = 0;
-        Chromosome thisChromo = null;
-        boolean done = false;
-
-        while(!done)
-        {
-            // Randomly choose an eligible parent.
-            parent = getRandomNumber(0, population.size() - 1);
-            thisChromo = population.get(parent);
-            if(thisChromo.selected() == true){
-                done = true;
-            }
-        }
-
-        return parent;
+        // Randomly choose an eligible parent.
+        return parents[random.nextInt(parentCount)];
     }
 
-    private static int chooseParent(final int parentA)
+    private int chooseParent(final int parentA)
     {
         // Overloaded function, see also "chooseparent()".
+        int start = 0;
         int parent = 0;
-        Chromosome thisChromo = null;
-        boolean done = false;
 
-        while(!done)
+        // Redraw until the pick is not parentA: uniform over the other entries, however the
+        // selection strategy ordered them.
+        for(int draw = 0; draw < MAX_PARENT_DRAWS; draw++)
         {
-            // Randomly choose an eligible parent.
-            parent = getRandomNumber(0, population.size() - 1);
+            parent = parents[random.nextInt(parentCount)];
             if(parent != parentA){
-                thisChromo = population.get(parent);
-                if(thisChromo.selected() == true){
-                    done = true;
-                }
+                return parent;
+            }
+        }
+
+        // Nearly every entry is parentA; scan from a random start for one that is not.
+        start = random.nextInt(parentCount);
+        for(int i = 0; i < parentCount; i++)
+        {
+            parent = parents[(start + i) % parentCount];
+            if(parent != parentA){
+                return parent;
             }
         }
 
-        return parent;
+        // Selection only picked parentA; mate it with anyone else.
+        return getExclusiveRandomNumber(population.size(), parentA);
     }
     
-    private static void prepNextEpoch()
+    private void printbestSolution(final int bestSolution)
     {
-        int popSize = 0;
-        Chromosome thisChromo = null;
-
-        // Reset flags for selected individuals.
-        popSize = population.size();
-        for(int i = 0; i < popSize; i++)
-        {
-            thisChromo = population.get(i);
-            thisChromo.selected(false);
-        }
+        printBoard(population, bestSolution);
         return;
     }
-    
-    private static void printbestSolution(Chromosome bestSolution)
+
+    private static void printBoard(final Population population, final int bestSolution)
     {
-        String board[][] = new String[MAX_LENGTH][MAX_LENGTH];
+        int boardSize = population.length();
+        String board[][] = null;
+        StringBuilder rows = null;
+
+        if(boardSize > PRINTED_BOARD_MAX){
+            // Too wide to draw; list the queen's row for each column instead.
+            rows = new StringBuilder("Rows:");
+            for(int x = 0; x < boardSize; x++)
+            {
+                rows.append(' ').append(population.gene(bestSolution, x));
+            }
+            System.out.println(rows);
+            return;
+        }
+
+        board = new String[boardSize][boardSize];
         
         // Clear the board.
-        for(int x = 0; x < MAX_LENGTH; x++)
+        for(int x = 0; x < boardSize; x++)
         {
-            for(int y = 0; y < MAX_LENGTH; y++)
+            for(int y = 0; y < boardSize; y++)
             {
                 board[x][y] = "";
             }
         }
 
-        for(int x = 0; x < MAX_LENGTH; x++)
+        for(int x = 0; x < boardSize; x++)
         {
-            board[x][bestSolution.data(x)] = "Q";
+            board[x][population.gene(bestSolution, x)] = "Q";
         }
 
         // Display the board.
         System.out.println("Board:");
-        for(int y = 0; y < MAX_LENGTH; y++)
+        for(int y = 0; y < boardSize; y++)
         {
-            for(int x = 0; x < MAX_LENGTH; x++)
+            for(int x = 0; x < boardSize; x++)
             {
                 if(board[x][y] == "Q"){
                     System.out.print("Q ");
@@ -502,269 +928,228 @@ public class NQueen
         return;
     }
     
-    private static int getRandomNumber(final int low, final int high)
+    private int getRandomNumber(final int low, final int high)
     {
-        return (int)Math.round((high - low) * new Random().nextDouble() + low);
+        return random.nextInt(low, high);
     }
     
-    private static int getExclusiveRandomNumber(final int high, final int except)
+    private int getExclusiveRandomNumber(final int high, final int except)
     {
-        boolean done = false;
         int getRand = 0;
 
-        while(!done)
-        {
-            getRand = new Random().nextInt(high);
-            if(getRand != except){
-                done = true;
-            }
+        if(except < 0 || except >= high){
+            return random.nextInt(high);
         }
 
+        // Draw from the range with the excluded value taken out, then shift past it.
+        getRand = random.nextInt(high - 1);
+        if(getRand >= except){
+            getRand++;
+        }
         return getRand;
     }
     
-    private static int getRandomNumber(int low, int high, int[] except)
+    // Every starting genome is a uniformly random permutation, unless maximumShuffles asks for
+    // the identity plus a few swaps. That leaves most queens on one diagonal, about N(N - 1)
+    // conflicts each, and is kept only to reproduce older runs.
+    private void initializeChromosomes()
     {
-        boolean done = false;
-        int getRand = 0;
+        int shuffles = 0;
+        int chromoIndex = 0;
 
-        if(high != low){
-            while(!done)
-            {
-                done = true;
-                getRand = (int)Math.round((high - low) * new Random().nextDouble() + low);
-                for(int i = 0; i < except.length; i++) //UBound(except)
-                {
-                    if(getRand == except[i]){
-                        done = false;
-                    }
-                } // i
+        for(int i = 0; i < parameters.startSize(); i++)
+        {
+            child1.reset();
+            if(parameters.maximumShuffles() > 0){
+                shuffles = getRandomNumber(parameters.minimumShuffles(), parameters.maximumShuffles());
+                exchangeMutation(child1, shuffles);
+            }else{
+                shuffle(child1);
             }
-            return getRand;
-        }else{
-            return high; // or low (it doesn't matter).
+
+            chromoIndex = population.add();
+            child1.store(population, chromoIndex);
         }
+        return;
     }
     
-    private static int minimum()
-    {
-        // Returns an array index.
-        int popSize = 0;
-        Chromosome thisChromo = null;
-        Chromosome thatChromo = null;
-        int winner = 0;
-        boolean foundNewWinner = false;
-        boolean done = false;
+    
+    // Runs min-conflicts on its own, with no population, restarting from a fresh greedy
+    // start whenever a round of maxEpochs sweeps ends short of a solution.
+    private static void minConflicts(final Parameters parameters)
+    {
+        int boardSize = parameters.boardSize();
+        Randomizer random = new Randomizer(parameters.seed());
+        MinConflictsSolver solver = new MinConflictsSolver(boardSize, random);
+        Chromosome board = new Chromosome(boardSize);
+        Population result = new Population(boardSize, 1);
+        int restarts = 0;
+        long start = System.nanoTime();
 
-        while(!done)
+        while(solver.solve(board, parameters.maxEpochs()) == false)
         {
-            foundNewWinner = false;
-            popSize = population.size();
-            for(int i = 0; i < popSize; i++)
-            {
-                if(i != winner){             // Avoid self-comparison.
-                    thisChromo = population.get(i);
-                    thatChromo = population.get(winner);
-                    if(thisChromo.conflicts() < thatChromo.conflicts()){
-                        winner = i;
-                        foundNewWinner = true;
-                    }
-                }
-            }
-            if(foundNewWinner == false){
-                done = true;
-            }
+            restarts++;
         }
-        return winner;
+
+        System.out.println("done.");
+        board.store(result, result.add());
+        printBoard(result, 0);
+        System.out.println("Solved after " + restarts + " restarts in " + (System.nanoTime() - start) / 1000000 + " ms.");
+        return;
     }
-    
-    private static int maximum()
-    {
-        // Returns an array index.
-        int popSize = 0;
-        Chromosome thisChromo = null;
-        Chromosome thatChromo = null;
-        int winner = 0;
-        boolean foundNewWinner = false;
-        boolean done = false;
 
-        while(!done)
-        {
-            foundNewWinner = false;
-            popSize = population.size();
-            for(int i = 0; i < popSize; i++)
+    // Counts every solution with the exact solver, then shows the first one it finds.
+    private static void exact(final Parameters parameters)
+    {
+        int boardSize = parameters.boardSize();
+        BitboardSolver solver = new BitboardSolver(boardSize, parameters.parallelism());
+        Chromosome board = new Chromosome(boardSize);
+        Population result = new Population(boardSize, 1);
+        int rows[] = new int[boardSize];
+        long start = System.nanoTime();
+        long count = solver.count();
+
+        System.out.println("Solutions: " + count + " (" + (System.nanoTime() - start) / 1000000 + " ms)");
+        if(solver.first(rows) == true){
+            for(int i = 0; i < boardSize; i++)
             {
-                if(i != winner){             // Avoid self-comparison.
-                    thisChromo = population.get(i);
-                    thatChromo = population.get(winner);
-                    if(thisChromo.conflicts() > thatChromo.conflicts()){
-                        winner = i;
-                        foundNewWinner = true;
-                    }
-                }
+                board.data(i, rows[i]);
             }
-            if(foundNewWinner == false){
-                done = true;
+            board.computeConflicts();
+            if(board.conflicts() != 0){
+                throw new IllegalStateException("computeConflicts() reports " + board.conflicts() + " for an exact solution");
             }
+            board.store(result, result.add());
+            printBoard(result, 0);
         }
-        return winner;
+        solver.shutdown();
+        return;
     }
-    
-    private static void initializeChromosomes()
-    {
-        int shuffles = 0;
-        Chromosome newChromo = null;
-        int chromoIndex = 0;
 
-        for(int i = 0; i < START_SIZE; i++)
-        {
-            newChromo = new Chromosome();
-            population.add(newChromo);
-            chromoIndex = population.indexOf(newChromo);
+    // Runs the job list in this JVM, parameters.parallelism() jobs at a time. Results go to
+    // resultFile as CSV if it ends in .csv and JSON lines otherwise, or as CSV to the console.
+    private static void batch(final Parameters parameters, final String strategy)
+    {
+        String results = parameters.resultFile();
+        BatchRunner runner = null;
+        List<BatchJob> jobs = null;
+        Writer out = null;
 
-            // Randomly choose the number of shuffles to perform.
-            shuffles = getRandomNumber(MINIMUM_SHUFFLES, MAXIMUM_SHUFFLES);
+        if(parameters.jobFile().isEmpty() == true){
+            throw new IllegalArgumentException("batch needs jobFile=<file>");
+        }
 
-            exchangeMutation(chromoIndex, shuffles);
+        try{
+            jobs = BatchJob.read(Paths.get(parameters.jobFile()), parameters, strategy);
+            if(results.isEmpty() == true){
+                out = new OutputStreamWriter(System.out);        // Flushed line by line, never closed.
+            }else{
+                out = Files.newBufferedWriter(Paths.get(results));
+            }
+            runner = new BatchRunner(parameters.parallelism(), out, results.isEmpty() == true || results.endsWith(".csv") == true);
+            System.err.println("Batch: " + jobs.size() + " jobs, " + runner.description() + ".");
+            runner.run(jobs);
+            if(results.isEmpty() == false){
+                out.close();
+            }
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        return;
+    }
 
-            population.get(chromoIndex).computeConflicts();
+    // Prints every solution as it is found, one row list per line; pipe into head to stop early.
+    private static void listSolutions(final Parameters parameters, final boolean unique)
+    {
+        SolutionIterator solutions = new SolutionIterator(parameters.boardSize(), unique);
+        long count = 0;
 
+        while(solutions.hasNext())
+        {
+            System.out.println(Arrays.toString(solutions.next()));
+            count++;
         }
+        System.out.println("Solutions: " + count);
         return;
     }
-    
-    private static class Chromosome
+
+    // Usage: NQueen [island|minconflicts|exact|solutions|unique|resume|batch] [adaptive] [roulette|sus|tournament] [name=value ...]
+    // where name is any Parameters setter, e.g. boardSize=1000 seed=42. adaptive turns on
+    // stagnation control with the default patience, unless stagnationEpochs=<n> chose one. checkpointFile=<file>
+    // saves the GA's state as it runs; resume, with the same parameters, continues from it.
+    // batch runs every line of jobFile=<file> (see BatchJob), writing to resultFile=<file>.
+    public static void main(String[] args)
     {
-        private int mData[] = new int[MAX_LENGTH];
-        private double mFitness = 0.0;
-        private boolean mSelected = false;
-        private double mSelectionProbability = 0.0;
-        private int mConflicts = 0;
-    
-        public Chromosome()
+        boolean island = false;
+        boolean minConflicts = false;
+        boolean exact = false;
+        boolean solutions = false;
+        boolean unique = false;
+        boolean resume = false;
+        boolean batch = false;
+        boolean adaptive = false;
+        String strategy = "roulette";
+        Parameters parameters = new Parameters();
+        NQueen solver = null;
+        Checkpoint checkpoint = null;
+        int equals = 0;
+
+        for(int i = 0; i < args.length; i++)
         {
-            for(int i = 0; i < MAX_LENGTH; i++)
-            {
-                this.mData[i] = i;
+            equals = args[i].indexOf('=');
+            if(equals > 0){
+                parameters.set(args[i].substring(0, equals), args[i].substring(equals + 1));
+            }else if(args[i].equalsIgnoreCase("island")){
+                island = true;
+            }else if(args[i].equalsIgnoreCase("minconflicts")){
+                minConflicts = true;
+            }else if(args[i].equalsIgnoreCase("exact")){
+                exact = true;
+            }else if(args[i].equalsIgnoreCase("solutions")){
+                solutions = true;
+            }else if(args[i].equalsIgnoreCase("unique")){
+                solutions = true;
+                unique = true;
+            }else if(args[i].equalsIgnoreCase("resume")){
+                resume = true;
+            }else if(args[i].equalsIgnoreCase("batch")){
+                batch = true;
+            }else if(args[i].equalsIgnoreCase("adaptive")){
+                adaptive = true;
+            }else{
+                strategy = args[i];
             }
-            return;
         }
-        
-        public void computeConflicts()
-        {
-            int x = 0;
-            int y = 0;
-            int tempx = 0;
-            int tempy = 0;
-            String board[][] = new String[MAX_LENGTH][MAX_LENGTH];
-            int conflicts = 0;
-            int dx[] = new int[] {-1, 1, -1, 1};
-            int dy[] = new int[] {-1, 1, 1, -1};
-            boolean done = false;
-
-            // Clear the board.
-            for(int i = 0; i < MAX_LENGTH; i++)
-            {
-                for(int j = 0; j < MAX_LENGTH; j++)
-                {
-                    board[i][j] = "";
-                }
-            }
+        if(adaptive == true && parameters.stagnationEpochs() == 0){
+            parameters.stagnationEpochs(Parameters.ADAPTIVE_STAGNATION_EPOCHS);
+        }
 
-            for(int i = 0; i < MAX_LENGTH; i++)
-            {
-                board[i][this.mData[i]] = "Q";
+        if(batch == true){
+            batch(parameters, strategy);
+        }else if(solutions == true){
+            listSolutions(parameters, unique);
+        }else if(exact == true){
+            exact(parameters);
+        }else if(minConflicts == true){
+            System.out.println("Seed: " + parameters.seed());
+            minConflicts(parameters);
+        }else if(island == true){
+            new IslandModel(parameters, strategy).run();
+        }else{
+            if(parameters.checkpointFile().isEmpty() == false){
+                checkpoint = new Checkpoint(Paths.get(parameters.checkpointFile()), parameters.checkpointInterval());
+            }else if(resume == true){
+                throw new IllegalArgumentException("resume needs checkpointFile=<file>");
             }
-
-            // Walk through each of the Queens and compute the number of conflicts.
-            for(int i = 0; i < MAX_LENGTH; i++)
-            {
-                x = i;
-                y = this.mData[i];
-
-                // Check diagonals.
-                for(int j = 0; j <= 3; j++)
-                {
-                    tempx = x;
-                    tempy = y;
-                    done = false;
-                    while(!done)
-                    {
-                        tempx += dx[j];
-                        tempy += dy[j];
-                        if((tempx < 0 || tempx >= MAX_LENGTH) || (tempy < 0 || tempy >= MAX_LENGTH)){
-                            done = true;
-                        }else{
-                            if(board[tempx][tempy].compareToIgnoreCase("Q") == 0){
-                                conflicts++;
-                            }
-                        }
-                    }
-                }
+            if(resume == false){
+                System.out.println("Seed: " + parameters.seed());
             }
-
-            this.mConflicts = conflicts;
-        }
-        
-        public void conflicts(int value)
-        {
-            this.mConflicts = value;
-            return;
+            solver = new NQueen(parameters, new Randomizer(parameters.seed()));
+            solver.selection(selectionStrategy(strategy, parameters));
+            solver.algorithm(checkpoint, resume);
         }
-        
-        public int conflicts()
-        {
-            return this.mConflicts;
-        }
-    
-        public double selectionProbability()
-        {
-            return mSelectionProbability;
-        }
-        
-        public void selectionProbability(final double SelProb)
-        {
-            mSelectionProbability = SelProb;
-            return;
-        }
-    
-        public boolean selected()
-        {
-            return mSelected;
-        }
-        
-        public void selected(final boolean sValue)
-        {
-            mSelected = sValue;
-            return;
-        }
-    
-        public double fitness()
-        {
-            return mFitness;
-        }
-        
-        public void fitness(final double score)
-        {
-            mFitness = score;
-            return;
-        }
-    
-        public int data(final int index)
-        {
-            return mData[index];
-        }
-        
-        public void data(final int index, final int value)
-        {
-            mData[index] = value;
-            return;
-        }
-    } // Chromosome
-    
-    public static void main(String[] args)
-    {
-        algorithm();
         return;
     }
 }
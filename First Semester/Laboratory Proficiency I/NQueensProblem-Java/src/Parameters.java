@@ -0,0 +1,556 @@
+// Tuning parameters for one solver run. The defaults are the values the solver used to have
+// compiled in, so a new Parameters runs the classic GA; stagnation control is off until
+// stagnationEpochs is set. The one exception is the starting population, which is fully
+// shuffled unless maximumShuffles asks for the old few-swaps start.
+public class Parameters
+{
+    public static final int ADAPTIVE_STAGNATION_EPOCHS = 100;    // stagnationEpochs the command line's adaptive flag sets.
+
+    private int mBoardSize = 10;                                 // chess board width.
+    private int mStartSize = 75;                                 // Population size at start. Range: 2 <= startSize <= maxPopulation.
+    private int mMaxEpochs = 1000;                               // Arbitrary number of test cycles.
+    private double mMatingProbability = 0.7;                     // Probability of two chromosomes mating. Range: 0.0 < matingProbability < 1.0
+    private double mMutationRate = 0.001;                        // Mutation Rate. Range: 0.0 < mutationRate < 1.0
+    private int mMinSelect = 10;                                 // Minimum parents allowed for selection.
+    private int mMaxSelect = 50;                                 // Maximum parents allowed for selection. Range: minSelect < maxSelect < startSize
+    private int mOffspringPerGeneration = 20;                    // New offspring created per generation. Range: 0 < offspringPerGeneration < maxSelect.
+    private int mMinimumShuffles = 0;                            // Swaps away from the identity for each starting chromosome,
+    private int mMaximumShuffles = 0;                            // drawn from this range; 0 and 0 start from full random shuffles.
+    private int mPbcMax = 4;                                     // Maximum Position-Based Crossover points. Range: 0 < pbcMax < 8 (> 8 isn't good).
+    private int mMaxPopulation = 150;                            // Population capacity. Range: startSize <= maxPopulation.
+    private int mParallelism = Runtime.getRuntime().availableProcessors();  // Threads for the population passes; 1 runs them inline.
+    private int mTournamentSize = 3;                             // Contestants per pick when using TournamentSelection. Range: 1 <= tournamentSize.
+    private int mEliteCount = 5;                                 // Best individuals never replaced. Range: 0 <= eliteCount <= maxPopulation - 2 * offspringPerGeneration.
+    private long mSeed = System.nanoTime();                      // Master random seed. Set a fixed value to replay a run.
+    private int mIslands = Math.max(2, Runtime.getRuntime().availableProcessors());  // Island model sub-populations, one thread each.
+    private int mMigrationInterval = 10;                         // Epochs between migrations.
+    private int mMigrants = 3;                                   // Best individuals sent per migration. Range: 0 < migrants <= eliteCount.
+    private int mMemeticSteps = 0;                               // Min-conflicts sweeps run on each child; 0 leaves the GA pure.
+    private long mProgressInterval = 1000;                       // Milliseconds between status lines; 0 prints every epoch.
+    private int mCacheSize = 0;                                  // ConflictCache entries; 0 scores every child from scratch.
+    private boolean mRejectDuplicates = false;                   // Drop children whose genome is already in the population.
+    private int mStagnationEpochs = 0;                           // Epochs without a better best before a partial restart; 0 disables.
+    private int mMaxMutationBoost = 16;                          // Top mutation rate multiplier while stagnating.
+    private double mRestartFraction = 0.25;                      // Share of the population re-randomized on restart, worst first.
+    private double mMinDiversity = 0.5;                          // Distinct-genome share below which stagnation counts double.
+    private boolean mBatchEvaluation = false;                    // Score each epoch's offspring in one BatchEvaluator pass.
+    private boolean mVectorEvaluation = true;                    // Let that pass use the Vector API when the JVM has it.
+    private boolean mOffHeap = false;                            // Keep population and offspring genomes in direct memory.
+    private String mCheckpointFile = "";                         // Base name of the checkpoint slots; empty never saves.
+    private long mCheckpointInterval = 60000;                    // Minimum milliseconds between checkpoints.
+    private long mTimeBudget = 0;                                // Milliseconds a run may take; 0 for no limit.
+    private String mJobFile = "";                                // Batch mode's job list, one job per line.
+    private String mResultFile = "";                             // Batch results, .csv or JSON lines; empty prints CSV.
+
+    public Parameters copy()
+    {
+        Parameters copy = new Parameters();
+
+        copy.mBoardSize = mBoardSize;
+        copy.mStartSize = mStartSize;
+        copy.mMaxEpochs = mMaxEpochs;
+        copy.mMatingProbability = mMatingProbability;
+        copy.mMutationRate = mMutationRate;
+        copy.mMinSelect = mMinSelect;
+        copy.mMaxSelect = mMaxSelect;
+        copy.mOffspringPerGeneration = mOffspringPerGeneration;
+        copy.mMinimumShuffles = mMinimumShuffles;
+        copy.mMaximumShuffles = mMaximumShuffles;
+        copy.mPbcMax = mPbcMax;
+        copy.mMaxPopulation = mMaxPopulation;
+        copy.mParallelism = mParallelism;
+        copy.mTournamentSize = mTournamentSize;
+        copy.mEliteCount = mEliteCount;
+        copy.mSeed = mSeed;
+        copy.mIslands = mIslands;
+        copy.mMigrationInterval = mMigrationInterval;
+        copy.mMigrants = mMigrants;
+        copy.mMemeticSteps = mMemeticSteps;
+        copy.mProgressInterval = mProgressInterval;
+        copy.mCacheSize = mCacheSize;
+        copy.mRejectDuplicates = mRejectDuplicates;
+        copy.mStagnationEpochs = mStagnationEpochs;
+        copy.mMaxMutationBoost = mMaxMutationBoost;
+        copy.mRestartFraction = mRestartFraction;
+        copy.mMinDiversity = mMinDiversity;
+        copy.mBatchEvaluation = mBatchEvaluation;
+        copy.mVectorEvaluation = mVectorEvaluation;
+        copy.mOffHeap = mOffHeap;
+        copy.mCheckpointFile = mCheckpointFile;
+        copy.mCheckpointInterval = mCheckpointInterval;
+        copy.mTimeBudget = mTimeBudget;
+        copy.mJobFile = mJobFile;
+        copy.mResultFile = mResultFile;
+        return copy;
+    }
+
+    // Sets a parameter from its name, e.g. set("boardSize", "1000"). Used for command-line overrides.
+    public void set(final String name, final String value)
+    {
+        switch(name)
+        {
+            case "boardSize": boardSize(Integer.parseInt(value)); break;
+            case "startSize": startSize(Integer.parseInt(value)); break;
+            case "maxEpochs": maxEpochs(Integer.parseInt(value)); break;
+            case "matingProbability": matingProbability(Double.parseDouble(value)); break;
+            case "mutationRate": mutationRate(Double.parseDouble(value)); break;
+            case "minSelect": minSelect(Integer.parseInt(value)); break;
+            case "maxSelect": maxSelect(Integer.parseInt(value)); break;
+            case "offspringPerGeneration": offspringPerGeneration(Integer.parseInt(value)); break;
+            case "minimumShuffles": minimumShuffles(Integer.parseInt(value)); break;
+            case "maximumShuffles": maximumShuffles(Integer.parseInt(value)); break;
+            case "pbcMax": pbcMax(Integer.parseInt(value)); break;
+            case "maxPopulation": maxPopulation(Integer.parseInt(value)); break;
+            case "parallelism": parallelism(Integer.parseInt(value)); break;
+            case "tournamentSize": tournamentSize(Integer.parseInt(value)); break;
+            case "eliteCount": eliteCount(Integer.parseInt(value)); break;
+            case "seed": seed(Long.parseLong(value)); break;
+            case "islands": islands(Integer.parseInt(value)); break;
+            case "migrationInterval": migrationInterval(Integer.parseInt(value)); break;
+            case "migrants": migrants(Integer.parseInt(value)); break;
+            case "memeticSteps": memeticSteps(Integer.parseInt(value)); break;
+            case "progressInterval": progressInterval(Long.parseLong(value)); break;
+            case "cacheSize": cacheSize(Integer.parseInt(value)); break;
+            case "rejectDuplicates": rejectDuplicates(Boolean.parseBoolean(value)); break;
+            case "stagnationEpochs": stagnationEpochs(Integer.parseInt(value)); break;
+            case "maxMutationBoost": maxMutationBoost(Integer.parseInt(value)); break;
+            case "restartFraction": restartFraction(Double.parseDouble(value)); break;
+            case "minDiversity": minDiversity(Double.parseDouble(value)); break;
+            case "batchEvaluation": batchEvaluation(Boolean.parseBoolean(value)); break;
+            case "vectorEvaluation": vectorEvaluation(Boolean.parseBoolean(value)); break;
+            case "offHeap": offHeap(Boolean.parseBoolean(value)); break;
+            case "checkpointFile": checkpointFile(value); break;
+            case "checkpointInterval": checkpointInterval(Long.parseLong(value)); break;
+            case "timeBudget": timeBudget(Long.parseLong(value)); break;
+            case "jobFile": jobFile(value); break;
+            case "resultFile": resultFile(value); break;
+            default:
+                throw new IllegalArgumentException("Unknown parameter: " + name);
+        }
+        return;
+    }
+
+    // Checks the limits that tie one setting to another, which the setters cannot since they
+    // may be called in any order. NQueen calls it before sizing anything.
+    public void validate()
+    {
+        if(mStartSize < 2 || mStartSize > mMaxPopulation){    // Crossover needs two distinct parents.
+            throw new IllegalArgumentException("startSize must be between 2 and maxPopulation (" + mMaxPopulation + "): " + mStartSize);
+        }
+        if(mMinSelect < 1 || mMinSelect > mMaxSelect){
+            throw new IllegalArgumentException("minSelect must be between 1 and maxSelect (" + mMaxSelect + "): " + mMinSelect);
+        }
+        if(mOffspringPerGeneration < 1){
+            throw new IllegalArgumentException("offspringPerGeneration must be at least 1: " + mOffspringPerGeneration);
+        }
+        if(mMinimumShuffles < 0 || mMinimumShuffles > mMaximumShuffles){
+            throw new IllegalArgumentException("minimumShuffles must be between 0 and maximumShuffles (" + mMaximumShuffles + "): " + mMinimumShuffles);
+        }
+        if(mEliteCount < 0 || mEliteCount > mMaxPopulation - 2 * mOffspringPerGeneration){
+            throw new IllegalArgumentException("eliteCount must be between 0 and maxPopulation - 2 * offspringPerGeneration ("
+                                               + (mMaxPopulation - 2 * mOffspringPerGeneration) + "): " + mEliteCount);
+        }
+        if(mTournamentSize < 1){
+            throw new IllegalArgumentException("tournamentSize must be at least 1: " + mTournamentSize);
+        }
+        return;
+    }
+
+    // The island model's extra limit: migrants come from the elite, so they must fit in it.
+    public void validateIslands()
+    {
+        validate();
+        if(mMigrants < 1 || mMigrants > mEliteCount){
+            throw new IllegalArgumentException("migrants must be between 1 and eliteCount (" + mEliteCount + "): " + mMigrants);
+        }
+        return;
+    }
+
+    public int boardSize()
+    {
+        return mBoardSize;
+    }
+
+    public void boardSize(final int value)
+    {
+        if(value < 4){
+            throw new IllegalArgumentException("boardSize must be at least 4: " + value);
+        }
+        mBoardSize = value;
+        return;
+    }
+
+    public int startSize()
+    {
+        return mStartSize;
+    }
+
+    public void startSize(final int value)
+    {
+        mStartSize = value;
+        return;
+    }
+
+    public int maxEpochs()
+    {
+        return mMaxEpochs;
+    }
+
+    public void maxEpochs(final int value)
+    {
+        mMaxEpochs = value;
+        return;
+    }
+
+    public double matingProbability()
+    {
+        return mMatingProbability;
+    }
+
+    public void matingProbability(final double value)
+    {
+        mMatingProbability = value;
+        return;
+    }
+
+    public double mutationRate()
+    {
+        return mMutationRate;
+    }
+
+    public void mutationRate(final double value)
+    {
+        mMutationRate = value;
+        return;
+    }
+
+    public int minSelect()
+    {
+        return mMinSelect;
+    }
+
+    public void minSelect(final int value)
+    {
+        mMinSelect = value;
+        return;
+    }
+
+    public int maxSelect()
+    {
+        return mMaxSelect;
+    }
+
+    public void maxSelect(final int value)
+    {
+        mMaxSelect = value;
+        return;
+    }
+
+    public int offspringPerGeneration()
+    {
+        return mOffspringPerGeneration;
+    }
+
+    public void offspringPerGeneration(final int value)
+    {
+        mOffspringPerGeneration = value;
+        return;
+    }
+
+    public int minimumShuffles()
+    {
+        return mMinimumShuffles;
+    }
+
+    public void minimumShuffles(final int value)
+    {
+        mMinimumShuffles = value;
+        return;
+    }
+
+    public int maximumShuffles()
+    {
+        return mMaximumShuffles;
+    }
+
+    public void maximumShuffles(final int value)
+    {
+        mMaximumShuffles = value;
+        return;
+    }
+
+    public int pbcMax()
+    {
+        return mPbcMax;
+    }
+
+    public void pbcMax(final int value)
+    {
+        mPbcMax = value;
+        return;
+    }
+
+    public int maxPopulation()
+    {
+        return mMaxPopulation;
+    }
+
+    public void maxPopulation(final int value)
+    {
+        mMaxPopulation = value;
+        return;
+    }
+
+    public int parallelism()
+    {
+        return mParallelism;
+    }
+
+    public void parallelism(final int value)
+    {
+        mParallelism = value;
+        return;
+    }
+
+    public int tournamentSize()
+    {
+        return mTournamentSize;
+    }
+
+    public void tournamentSize(final int value)
+    {
+        mTournamentSize = value;
+        return;
+    }
+
+    public int eliteCount()
+    {
+        return mEliteCount;
+    }
+
+    public void eliteCount(final int value)
+    {
+        mEliteCount = value;
+        return;
+    }
+
+    public long seed()
+    {
+        return mSeed;
+    }
+
+    public void seed(final long value)
+    {
+        mSeed = value;
+        return;
+    }
+
+    public int islands()
+    {
+        return mIslands;
+    }
+
+    public void islands(final int value)
+    {
+        mIslands = value;
+        return;
+    }
+
+    public int migrationInterval()
+    {
+        return mMigrationInterval;
+    }
+
+    public void migrationInterval(final int value)
+    {
+        mMigrationInterval = value;
+        return;
+    }
+
+    public int migrants()
+    {
+        return mMigrants;
+    }
+
+    public void migrants(final int value)
+    {
+        mMigrants = value;
+        return;
+    }
+
+    public int memeticSteps()
+    {
+        return mMemeticSteps;
+    }
+
+    public void memeticSteps(final int value)
+    {
+        mMemeticSteps = value;
+        return;
+    }
+
+    public long progressInterval()
+    {
+        return mProgressInterval;
+    }
+
+    public void progressInterval(final long value)
+    {
+        mProgressInterval = value;
+        return;
+    }
+
+    public int cacheSize()
+    {
+        return mCacheSize;
+    }
+
+    public void cacheSize(final int value)
+    {
+        mCacheSize = value;
+        return;
+    }
+
+    public boolean rejectDuplicates()
+    {
+        return mRejectDuplicates;
+    }
+
+    public void rejectDuplicates(final boolean value)
+    {
+        mRejectDuplicates = value;
+        return;
+    }
+
+    public int stagnationEpochs()
+    {
+        return mStagnationEpochs;
+    }
+
+    public void stagnationEpochs(final int value)
+    {
+        mStagnationEpochs = value;
+        return;
+    }
+
+    public int maxMutationBoost()
+    {
+        return mMaxMutationBoost;
+    }
+
+    public void maxMutationBoost(final int value)
+    {
+        mMaxMutationBoost = value;
+        return;
+    }
+
+    public double restartFraction()
+    {
+        return mRestartFraction;
+    }
+
+    public void restartFraction(final double value)
+    {
+        mRestartFraction = value;
+        return;
+    }
+
+    public double minDiversity()
+    {
+        return mMinDiversity;
+    }
+
+    public void minDiversity(final double value)
+    {
+        mMinDiversity = value;
+        return;
+    }
+
+    public boolean batchEvaluation()
+    {
+        return mBatchEvaluation;
+    }
+
+    public void batchEvaluation(final boolean value)
+    {
+        mBatchEvaluation = value;
+        return;
+    }
+
+    public boolean vectorEvaluation()
+    {
+        return mVectorEvaluation;
+    }
+
+    public void vectorEvaluation(final boolean value)
+    {
+        mVectorEvaluation = value;
+        return;
+    }
+
+    public boolean offHeap()
+    {
+        return mOffHeap;
+    }
+
+    public void offHeap(final boolean value)
+    {
+        mOffHeap = value;
+        return;
+    }
+
+    public String checkpointFile()
+    {
+        return mCheckpointFile;
+    }
+
+    public void checkpointFile(final String value)
+    {
+        mCheckpointFile = value;
+        return;
+    }
+
+    public long checkpointInterval()
+    {
+        return mCheckpointInterval;
+    }
+
+    public void checkpointInterval(final long value)
+    {
+        mCheckpointInterval = value;
+        return;
+    }
+
+    public long timeBudget()
+    {
+        return mTimeBudget;
+    }
+
+    public void timeBudget(final long value)
+    {
+        mTimeBudget = value;
+        return;
+    }
+
+    public String jobFile()
+    {
+        return mJobFile;
+    }
+
+    public void jobFile(final String value)
+    {
+        mJobFile = value;
+        return;
+    }
+
+    public String resultFile()
+    {
+        return mResultFile;
+    }
+
+    public void resultFile(final String value)
+    {
+        mResultFile = value;
+        return;
+    }
+}
@@ -0,0 +1,295 @@
+import java.util.Arrays;
+
+// Crossover operators for permutation genomes, all O(N) with no allocation per mating.
+// Parents are read from a Population; children are written into Chromosome work spaces
+// and left unscored, so Chromosome counts them once, when they are stored after any
+// mutation. Value-to-position inverse arrays replace the linear position searches, and
+// "is this value/position taken" is a stamp compare, so no scratch array ever needs clearing.
+// The scratch buffers belong to the instance: use one instance per thread.
+public class PermutationCrossover
+{
+    public static final int PARTIALLY_MAPPED = 0;                // PMX
+    public static final int POSITION_BASED = 1;                  // PBX
+    public static final int ORDER = 2;                           // OX
+    public static final int CYCLE = 3;                           // CX
+
+    private final int mLength;
+    private final int mMaxPoints;                                // Maximum Position-Based Crossover points.
+    private int mInverse1[] = null;                              // mInverse1[value] = position of value in child 1.
+    private int mInverse2[] = null;
+    private int mCrossPoints[] = null;
+    private int mFill[] = null;
+    private int mValueStamp[] = null;                            // == mValueMark when the value is already placed.
+    private int mPositionStamp[] = null;                         // == mPositionMark when the position is already taken.
+    private int mValueMark = 0;
+    private int mPositionMark = 0;
+
+    public PermutationCrossover(final int length, final int maxPoints)
+    {
+        this.mLength = length;
+        this.mMaxPoints = Math.min(maxPoints, length);
+        this.mInverse1 = new int[length];
+        this.mInverse2 = new int[length];
+        this.mCrossPoints = new int[length];
+        this.mFill = new int[length];
+        this.mValueStamp = new int[length];
+        this.mPositionStamp = new int[length];
+        return;
+    }
+
+    public void cross(final int operator, final Population population, final int chromA, final int chromB,
+                      final Chromosome newChromo1, final Chromosome newChromo2, final Randomizer random)
+    {
+        switch(operator)
+        {
+            case PARTIALLY_MAPPED:
+                partiallyMapped(population, chromA, chromB, newChromo1, newChromo2, random);
+                break;
+            case POSITION_BASED:
+                positionBased(population, chromA, chromB, newChromo1, newChromo2, random);
+                break;
+            case ORDER:
+                order(population, chromA, chromB, newChromo1, newChromo2, random);
+                break;
+            case CYCLE:
+                cycle(population, chromA, chromB, newChromo1, newChromo2);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown crossover operator: " + operator);
+        }
+        return;
+    }
+
+    public void partiallyMapped(final Population population, final int chromA, final int chromB,
+                                final Chromosome newChromo1, final Chromosome newChromo2, final Randomizer random)
+    {
+        int j = 0;
+        int item1 = 0;
+        int item2 = 0;
+        int pos1 = 0;
+        int pos2 = 0;
+        int crossPoint1 = random.nextInt(0, mLength - 1);
+        int crossPoint2 = 0;
+
+        // Second point comes from [0, mLength - 1) and never equals the first.
+        if(crossPoint1 < mLength - 1){
+            crossPoint2 = random.nextInt(mLength - 2);
+            if(crossPoint2 >= crossPoint1){
+                crossPoint2++;
+            }
+        }else{
+            crossPoint2 = random.nextInt(mLength - 1);
+        }
+        if(crossPoint2 < crossPoint1){
+            j = crossPoint1;
+            crossPoint1 = crossPoint2;
+            crossPoint2 = j;
+        }
+
+        // Copy Parent genes to offspring.
+        newChromo1.load(population, chromA);
+        newChromo2.load(population, chromB);
+        for(int i = 0; i < mLength; i++)
+        {
+            mInverse1[newChromo1.data(i)] = i;
+            mInverse2[newChromo2.data(i)] = i;
+        }
+
+        for(int i = crossPoint1; i <= crossPoint2; i++)
+        {
+            // Get the two items to swap.
+            item1 = population.gene(chromA, i);
+            item2 = population.gene(chromB, i);
+            if(item1 == item2){
+                continue;
+            }
+
+            // Swap their positions in child 1 ...
+            pos1 = mInverse1[item1];
+            pos2 = mInverse1[item2];
+            newChromo1.swap(pos1, pos2);
+            mInverse1[item1] = pos2;
+            mInverse1[item2] = pos1;
+
+            // ... and in child 2.
+            pos1 = mInverse2[item2];
+            pos2 = mInverse2[item1];
+            newChromo2.swap(pos1, pos2);
+            mInverse2[item2] = pos2;
+            mInverse2[item1] = pos1;
+        } // i
+        return;
+    }
+
+    public void positionBased(final Population population, final int chromA, final int chromB,
+                              final Chromosome newChromo1, final Chromosome newChromo2, final Randomizer random)
+    {
+        int numPoints = random.nextInt(0, mMaxPoints);
+        int point = 0;
+
+        // Choose distinct crosspoints.
+        nextPositionMark();
+        for(int i = 0; i < numPoints; i++)
+        {
+            do
+            {
+                point = random.nextInt(mLength);
+            }while(mPositionStamp[point] == mPositionMark);
+            mPositionStamp[point] = mPositionMark;
+            mCrossPoints[i] = point;
+        } // i
+
+        keepPositions(population, chromA, chromB, numPoints, newChromo1);
+        keepPositions(population, chromB, chromA, numPoints, newChromo2);
+        return;
+    }
+
+    // Child takes keep's genes at the crosspoints and fills the rest in fill's order.
+    private void keepPositions(final Population population, final int keep, final int fill,
+                               final int numPoints, final Chromosome child)
+    {
+        int k = 0;
+        int value = 0;
+
+        // Insert chosens into the child, remembering their values.
+        nextValueMark();
+        for(int i = 0; i < numPoints; i++)
+        {
+            value = population.gene(keep, mCrossPoints[i]);
+            child.data(mCrossPoints[i], value);
+            mValueStamp[value] = mValueMark;
+        }
+
+        // Get non-chosens from the other parent, in order.
+        k = 0;
+        for(int i = 0; i < mLength; i++)
+        {
+            value = population.gene(fill, i);
+            if(mValueStamp[value] != mValueMark){
+                mFill[k] = value;
+                k++;
+            }
+        }
+
+        // Fill in non-chosens.
+        k = 0;
+        for(int i = 0; i < mLength; i++)
+        {
+            if(mPositionStamp[i] != mPositionMark){
+                child.data(i, mFill[k]);
+                k++;
+            }
+        }
+        return;
+    }
+
+    // Order crossover: the child keeps one parent's window in place and takes the other
+    // parent's remaining genes in their cyclic order, starting just after the window.
+    public void order(final Population population, final int chromA, final int chromB,
+                      final Chromosome newChromo1, final Chromosome newChromo2, final Randomizer random)
+    {
+        int crossPoint1 = random.nextInt(mLength);
+        int crossPoint2 = random.nextInt(mLength);
+        int j = 0;
+
+        if(crossPoint2 < crossPoint1){
+            j = crossPoint1;
+            crossPoint1 = crossPoint2;
+            crossPoint2 = j;
+        }
+
+        keepWindow(population, chromA, chromB, crossPoint1, crossPoint2, newChromo1);
+        keepWindow(population, chromB, chromA, crossPoint1, crossPoint2, newChromo2);
+        return;
+    }
+
+    private void keepWindow(final Population population, final int keep, final int fill,
+                            final int crossPoint1, final int crossPoint2, final Chromosome child)
+    {
+        int value = 0;
+        int source = 0;
+        int target = 0;
+
+        nextValueMark();
+        for(int i = crossPoint1; i <= crossPoint2; i++)
+        {
+            value = population.gene(keep, i);
+            child.data(i, value);
+            mValueStamp[value] = mValueMark;
+        }
+
+        target = (crossPoint2 + 1) % mLength;
+        source = target;
+        for(int i = 0; i < mLength; i++)
+        {
+            value = population.gene(fill, source);
+            if(mValueStamp[value] != mValueMark){
+                child.data(target, value);
+                target = (target + 1) % mLength;
+            }
+            source = (source + 1) % mLength;
+        }
+        return;
+    }
+
+    // Cycle crossover: positions split into cycles between the parents; the children take
+    // alternate cycles from each parent, so every gene keeps a position one parent had.
+    public void cycle(final Population population, final int chromA, final int chromB,
+                      final Chromosome newChromo1, final Chromosome newChromo2)
+    {
+        int position = 0;
+        boolean fromA = true;
+
+        for(int i = 0; i < mLength; i++)
+        {
+            mInverse1[population.gene(chromA, i)] = i;
+        }
+
+        nextPositionMark();
+        for(int start = 0; start < mLength; start++)
+        {
+            if(mPositionStamp[start] == mPositionMark){
+                continue;
+            }
+
+            position = start;
+            do
+            {
+                mPositionStamp[position] = mPositionMark;
+                if(fromA == true){
+                    newChromo1.data(position, population.gene(chromA, position));
+                    newChromo2.data(position, population.gene(chromB, position));
+                }else{
+                    newChromo1.data(position, population.gene(chromB, position));
+                    newChromo2.data(position, population.gene(chromA, position));
+                }
+                position = mInverse1[population.gene(chromB, position)];
+            }while(position != start);
+
+            fromA = !fromA;
+        }
+
+        return;
+    }
+
+    private void nextValueMark()
+    {
+        mValueMark++;
+        if(mValueMark == 0){
+            // Wrapped around; old stamps could now match by accident.
+            Arrays.fill(mValueStamp, 0);
+            mValueMark = 1;
+        }
+        return;
+    }
+
+    private void nextPositionMark()
+    {
+        mPositionMark++;
+        if(mPositionMark == 0){
+            Arrays.fill(mPositionStamp, 0);
+            mPositionMark = 1;
+        }
+        return;
+    }
+}
@@ -0,0 +1,172 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Struct-of-arrays store for the whole population.
+// Every genome lives in one contiguous GenomeStore, encoded as narrowly as the board allows,
+// and the per-individual scores sit in parallel primitive columns indexed the same way.
+// An off-heap population moves only the genomes out of the heap: they are the
+// length-times-capacity part, while the score columns grow with capacity alone.
+public class Population
+{
+    private final int mLength;                   // Genes per genome (board width).
+    private int mCapacity = 0;
+    private int mSize = 0;
+    private GenomeStore mGenes = null;
+    private double mFitness[] = null;
+    private double mSelectionProbability[] = null;
+    private long mConflicts[] = null;            // N(N - 1) passes the int range from N = 46342.
+    private long mHash[] = null;                 // GenomeHash of each genome, 0 if it was stored without one.
+
+    public Population(final int length, final int initialCapacity)
+    {
+        this(length, initialCapacity, false);
+    }
+
+    public Population(final int length, final int initialCapacity, final boolean offHeap)
+    {
+        this.mLength = length;
+        this.mCapacity = Math.max(1, initialCapacity);
+        if(offHeap == true){
+            this.mGenes = GenomeStore.createDirect(length, this.mCapacity);
+        }else{
+            this.mGenes = GenomeStore.create(length, this.mCapacity);
+        }
+        this.mFitness = new double[this.mCapacity];
+        this.mSelectionProbability = new double[this.mCapacity];
+        this.mConflicts = new long[this.mCapacity];
+        this.mHash = new long[this.mCapacity];
+        return;
+    }
+
+    public int size()
+    {
+        return this.mSize;
+    }
+
+    public int length()
+    {
+        return this.mLength;
+    }
+
+    // Appends an empty individual and returns its index.
+    public int add()
+    {
+        if(this.mSize == this.mCapacity){
+            grow();
+        }
+        this.mFitness[this.mSize] = 0.0;
+        this.mSelectionProbability[this.mSize] = 0.0;
+        this.mConflicts[this.mSize] = 0;
+        this.mHash[this.mSize] = 0;
+        return this.mSize++;
+    }
+
+    // Drops every individual; the storage is kept for reuse.
+    public void clear()
+    {
+        this.mSize = 0;
+        return;
+    }
+
+    // Overwrites individual targetIndex with the genome, hash and conflicts of source's sourceIndex.
+    public void copy(final Population source, final int sourceIndex, final int targetIndex)
+    {
+        this.mGenes.copy(source.mGenes, sourceIndex, targetIndex);
+        this.mFitness[targetIndex] = 0.0;
+        this.mSelectionProbability[targetIndex] = 0.0;
+        this.mConflicts[targetIndex] = source.mConflicts[sourceIndex];
+        this.mHash[targetIndex] = source.mHash[sourceIndex];
+        return;
+    }
+
+    private void grow()
+    {
+        this.mCapacity *= 2;
+        this.mGenes.resize(this.mCapacity);
+        this.mFitness = Arrays.copyOf(this.mFitness, this.mCapacity);
+        this.mSelectionProbability = Arrays.copyOf(this.mSelectionProbability, this.mCapacity);
+        this.mConflicts = Arrays.copyOf(this.mConflicts, this.mCapacity);
+        this.mHash = Arrays.copyOf(this.mHash, this.mCapacity);
+        return;
+    }
+
+    public int gene(final int index, final int position)
+    {
+        return this.mGenes.gene(index, position);
+    }
+
+    public void gene(final int index, final int position, final int value)
+    {
+        this.mGenes.gene(index, position, value);
+        return;
+    }
+
+    public void copyGenesTo(final int index, final int destination[])
+    {
+        this.mGenes.copyTo(index, destination);
+        return;
+    }
+
+    public void copyGenesFrom(final int source[], final int index)
+    {
+        this.mGenes.copyFrom(source, index);
+        return;
+    }
+
+    // Checkpoint transfer of one genome; see GenomeStore.write().
+    public void writeGenes(final int index, final ByteBuffer target)
+    {
+        this.mGenes.write(index, target);
+        return;
+    }
+
+    public void readGenes(final ByteBuffer source, final int index)
+    {
+        this.mGenes.read(source, index);
+        return;
+    }
+
+    public long conflicts(final int index)
+    {
+        return this.mConflicts[index];
+    }
+
+    public void conflicts(final int index, final long value)
+    {
+        this.mConflicts[index] = value;
+        return;
+    }
+
+    public long hash(final int index)
+    {
+        return this.mHash[index];
+    }
+
+    public void hash(final int index, final long value)
+    {
+        this.mHash[index] = value;
+        return;
+    }
+
+    public double fitness(final int index)
+    {
+        return this.mFitness[index];
+    }
+
+    public void fitness(final int index, final double score)
+    {
+        this.mFitness[index] = score;
+        return;
+    }
+
+    public double selectionProbability(final int index)
+    {
+        return this.mSelectionProbability[index];
+    }
+
+    public void selectionProbability(final int index, final double selProb)
+    {
+        this.mSelectionProbability[index] = selProb;
+        return;
+    }
+}
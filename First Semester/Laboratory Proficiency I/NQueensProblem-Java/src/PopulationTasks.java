@@ -0,0 +1,285 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Fork-join versions of the per-individual passes over a Population.
+// Work is cut into fixed-size leaves that do not depend on the thread count, and partial
+// results are always combined left to right, so every pass gives the same answer on any pool,
+// including none at all.
+public class PopulationTasks
+{
+    private static final int LEAF_SIZE = 1024;                   // Individuals handled by one task without splitting.
+
+    private final ForkJoinPool mPool;                            // null runs every pass on the calling thread.
+
+    public PopulationTasks(final int parallelism)
+    {
+        if(parallelism > 1){
+            this.mPool = new ForkJoinPool(parallelism);
+        }else{
+            this.mPool = null;
+        }
+        return;
+    }
+
+    // Minimum, maximum, mean and best index in one pass. Ties go to the lowest index.
+    public EpochStatistics statistics(final Population population)
+    {
+        return run(new StatisticsTask(population, 0, population.size()), population.size());
+    }
+
+    // Lowest errors = 100%, Highest errors = 0%
+    public void scaleFitness(final Population population, final EpochStatistics statistics)
+    {
+        double bestScore = 0;
+        double worstScore = 0;
+
+        // The worst score would be the one with the highest energy, best would be lowest.
+        worstScore = statistics.maximum();
+
+        // Convert to a weighted percentage.
+        bestScore = worstScore - statistics.minimum();
+
+        assignFitness(population, worstScore, bestScore);
+        return;
+    }
+
+    public void assignFitness(final Population population, final double worstScore, final double bestScore)
+    {
+        run(new FitnessTask(population, 0, population.size(), worstScore, bestScore), population.size());
+        return;
+    }
+
+    public double fitnessTotal(final Population population)
+    {
+        return run(new FitnessTotalTask(population, 0, population.size()), population.size());
+    }
+
+    public void assignSelectionProbability(final Population population, final double genTotal)
+    {
+        run(new SelectionProbabilityTask(population, 0, population.size(), genTotal), population.size());
+        return;
+    }
+
+    public void shutdown()
+    {
+        if(this.mPool != null){
+            this.mPool.shutdown();
+        }
+        return;
+    }
+
+    // A pass over no more than one leaf never splits, so handing it to the pool would only add
+    // the hand-off; it runs on the calling thread instead.
+    private <T> T run(final RecursiveTask<T> task, final int size)
+    {
+        if(this.mPool == null || size <= LEAF_SIZE){
+            return task.invoke();
+        }
+        return this.mPool.invoke(task);
+    }
+
+    private void run(final RecursiveAction task, final int size)
+    {
+        if(this.mPool == null || size <= LEAF_SIZE){
+            task.invoke();
+        }else{
+            this.mPool.invoke(task);
+        }
+        return;
+    }
+
+    private static boolean split(final int from, final int to)
+    {
+        return to - from > LEAF_SIZE;
+    }
+
+    private boolean parallel()
+    {
+        return this.mPool != null;
+    }
+
+    @SuppressWarnings("serial")
+    private class StatisticsTask extends RecursiveTask<EpochStatistics>
+    {
+        private final Population mPopulation;
+        private final int mFrom;
+        private final int mTo;
+
+        StatisticsTask(final Population population, final int from, final int to)
+        {
+            this.mPopulation = population;
+            this.mFrom = from;
+            this.mTo = to;
+        }
+
+        @Override
+        protected EpochStatistics compute()
+        {
+            int mid = 0;
+            EpochStatistics left = null;
+            EpochStatistics right = null;
+            StatisticsTask leftTask = null;
+
+            if(split(this.mFrom, this.mTo)){
+                mid = (this.mFrom + this.mTo) >>> 1;
+                leftTask = new StatisticsTask(this.mPopulation, this.mFrom, mid);
+                if(parallel()){
+                    leftTask.fork();
+                    right = new StatisticsTask(this.mPopulation, mid, this.mTo).compute();
+                    left = leftTask.join();
+                }else{
+                    left = leftTask.compute();
+                    right = new StatisticsTask(this.mPopulation, mid, this.mTo).compute();
+                }
+
+                // Left wins ties so the lowest index is kept.
+                left.combine(right);
+                return left;
+            }
+
+            left = new EpochStatistics();
+            for(int i = this.mFrom; i < this.mTo; i++)
+            {
+                left.accept(i, this.mPopulation.conflicts(i));
+            }
+            return left;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class FitnessTask extends RecursiveAction
+    {
+        private final Population mPopulation;
+        private final int mFrom;
+        private final int mTo;
+        private final double mWorstScore;
+        private final double mBestScore;
+
+        FitnessTask(final Population population, final int from, final int to, final double worstScore, final double bestScore)
+        {
+            this.mPopulation = population;
+            this.mFrom = from;
+            this.mTo = to;
+            this.mWorstScore = worstScore;
+            this.mBestScore = bestScore;
+        }
+
+        @Override
+        protected void compute()
+        {
+            int mid = 0;
+            FitnessTask left = null;
+            FitnessTask right = null;
+
+            if(split(this.mFrom, this.mTo)){
+                mid = (this.mFrom + this.mTo) >>> 1;
+                left = new FitnessTask(this.mPopulation, this.mFrom, mid, this.mWorstScore, this.mBestScore);
+                right = new FitnessTask(this.mPopulation, mid, this.mTo, this.mWorstScore, this.mBestScore);
+                if(parallel()){
+                    invokeAll(left, right);
+                }else{
+                    left.compute();
+                    right.compute();
+                }
+                return;
+            }
+
+            for(int i = this.mFrom; i < this.mTo; i++)
+            {
+                if(this.mBestScore == 0){
+                    // A bounded population can converge to one score; treat everyone as equally fit.
+                    this.mPopulation.fitness(i, 100.0);
+                }else{
+                    this.mPopulation.fitness(i, (this.mWorstScore - this.mPopulation.conflicts(i)) * 100.0 / this.mBestScore);
+                }
+            }
+            return;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class FitnessTotalTask extends RecursiveTask<Double>
+    {
+        private final Population mPopulation;
+        private final int mFrom;
+        private final int mTo;
+
+        FitnessTotalTask(final Population population, final int from, final int to)
+        {
+            this.mPopulation = population;
+            this.mFrom = from;
+            this.mTo = to;
+        }
+
+        @Override
+        protected Double compute()
+        {
+            int mid = 0;
+            double total = 0.0;
+            FitnessTotalTask leftTask = null;
+            double right = 0.0;
+
+            if(split(this.mFrom, this.mTo)){
+                mid = (this.mFrom + this.mTo) >>> 1;
+                leftTask = new FitnessTotalTask(this.mPopulation, this.mFrom, mid);
+                if(parallel()){
+                    leftTask.fork();
+                    right = new FitnessTotalTask(this.mPopulation, mid, this.mTo).compute();
+                    return leftTask.join() + right;
+                }
+                return leftTask.compute() + new FitnessTotalTask(this.mPopulation, mid, this.mTo).compute();
+            }
+
+            for(int i = this.mFrom; i < this.mTo; i++)
+            {
+                total += this.mPopulation.fitness(i);
+            }
+            return total;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class SelectionProbabilityTask extends RecursiveAction
+    {
+        private final Population mPopulation;
+        private final int mFrom;
+        private final int mTo;
+        private final double mGenTotal;
+
+        SelectionProbabilityTask(final Population population, final int from, final int to, final double genTotal)
+        {
+            this.mPopulation = population;
+            this.mFrom = from;
+            this.mTo = to;
+            this.mGenTotal = genTotal;
+        }
+
+        @Override
+        protected void compute()
+        {
+            int mid = 0;
+            SelectionProbabilityTask left = null;
+            SelectionProbabilityTask right = null;
+
+            if(split(this.mFrom, this.mTo)){
+                mid = (this.mFrom + this.mTo) >>> 1;
+                left = new SelectionProbabilityTask(this.mPopulation, this.mFrom, mid, this.mGenTotal);
+                right = new SelectionProbabilityTask(this.mPopulation, mid, this.mTo, this.mGenTotal);
+                if(parallel()){
+                    invokeAll(left, right);
+                }else{
+                    left.compute();
+                    right.compute();
+                }
+                return;
+            }
+
+            for(int i = this.mFrom; i < this.mTo; i++)
+            {
+                this.mPopulation.selectionProbability(i, this.mPopulation.fitness(i) / this.mGenTotal);
+            }
+            return;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+import java.io.PrintStream;
+
+// Prints a solver's status at most once per interval instead of every epoch, so console
+// I/O stays off the main loop however fast epochs run. The clock is only read every
+// CHECK_EVERY epochs. An interval of 0 prints every epoch, as the solver used to.
+public class ProgressReporter implements EpochListener
+{
+    private static final int CHECK_EVERY = 16;                   // Epochs between clock reads.
+
+    private final PrintStream mOut;
+    private final long mIntervalNanos;
+    private long mLastReport = 0;
+
+    public ProgressReporter(final PrintStream out, final long intervalMillis)
+    {
+        this.mOut = out;
+        this.mIntervalNanos = intervalMillis * 1000000L;
+        this.mLastReport = System.nanoTime();
+        return;
+    }
+
+    // Called after every epoch; prints only if the interval has passed.
+    @Override
+    public void epoch(final NQueen solver)
+    {
+        long now = 0;
+
+        if(mIntervalNanos > 0 && solver.epoch() % CHECK_EVERY != 0){
+            return;
+        }
+        now = System.nanoTime();
+        if(now - mLastReport < mIntervalNanos){
+            return;
+        }
+        mLastReport = now;
+        report(solver);
+        return;
+    }
+
+    public void report(final NQueen solver)
+    {
+        EpochStatistics statistics = solver.statistics();
+
+        mOut.printf("Epoch: %d  best: %d  mean: %.2f  distinct: %.2f  evals/s: %.0f%n", solver.epoch(), statistics.minimum(), statistics.mean(),
+                    solver.diversity(), solver.metrics().evaluationRate());
+        return;
+    }
+}
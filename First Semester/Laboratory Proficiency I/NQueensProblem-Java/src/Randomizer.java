@@ -0,0 +1,117 @@
+// Seeded SplitMix64 generator, the same algorithm java.util.SplittableRandom uses.
+// One master Randomizer is built from a seed and every thread or solver gets its own split()
+// stream, so a run with a fixed seed is repeatable and no draw allocates or contends.
+// An instance is not thread-safe; never share one between threads.
+public class Randomizer
+{
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long mSeed;
+    private long mGamma;                                   // Odd step between successive seeds.
+
+    public Randomizer(final long seed)
+    {
+        this(seed, GOLDEN_GAMMA);
+        return;
+    }
+
+    private Randomizer(final long seed, final long gamma)
+    {
+        this.mSeed = seed;
+        this.mGamma = gamma;
+        return;
+    }
+
+    // Returns a new, statistically independent stream and advances this one.
+    public Randomizer split()
+    {
+        return new Randomizer(nextLong(), mixGamma(nextSeed()));
+    }
+
+    // The stream's whole state, for checkpoints. restore() makes this Randomizer continue
+    // exactly where the one that reported it stood.
+    public long state()
+    {
+        return mSeed;
+    }
+
+    public long gamma()
+    {
+        return mGamma;
+    }
+
+    public void restore(final long state, final long gamma)
+    {
+        this.mSeed = state;
+        this.mGamma = gamma;
+        return;
+    }
+
+    public long nextLong()
+    {
+        return mix64(nextSeed());
+    }
+
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    // Uniform in [0, bound). Lemire's multiply-and-reject, so there is no modulo bias.
+    public int nextInt(final int bound)
+    {
+        long product = 0;
+        int low = 0;
+        int threshold = 0;
+
+        if(bound <= 0){
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+
+        product = (nextLong() >>> 32) * bound;
+        low = (int)product;
+        if(Integer.compareUnsigned(low, bound) < 0){
+            threshold = Integer.remainderUnsigned(-bound, bound);
+            while(Integer.compareUnsigned(low, threshold) < 0)
+            {
+                product = (nextLong() >>> 32) * bound;
+                low = (int)product;
+            }
+        }
+        return (int)(product >>> 32);
+    }
+
+    // Uniform in [low, high], both ends included.
+    public int nextInt(final int low, final int high)
+    {
+        return low + nextInt(high - low + 1);
+    }
+
+    private long nextSeed()
+    {
+        this.mSeed += this.mGamma;
+        return this.mSeed;
+    }
+
+    private static long mix64(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long mixGamma(long z)
+    {
+        int n = 0;
+
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        n = Long.bitCount(z ^ (z >>> 1));
+        if(n < 24){
+            return z ^ 0xaaaaaaaaaaaaaaaaL;
+        }
+        return z;
+    }
+}
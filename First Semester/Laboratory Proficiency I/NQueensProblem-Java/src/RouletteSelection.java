@@ -0,0 +1,18 @@
+// Fitness-proportional selection with one independent spin per parent, O(log P) each.
+public class RouletteSelection extends WheelSelection
+{
+    @Override
+    public void select(final Population population, final EpochStatistics statistics, final PopulationTasks tasks, final Randomizer random, final int parents[], final int count)
+    {
+        int popSize = population.size();
+        double selTotal = buildWheel(population, statistics, tasks);
+        double rouletteSpin = 0.0;
+
+        for(int i = 0; i < count; i++)
+        {
+            rouletteSpin = random.nextDouble() * selTotal;
+            parents[i] = spinWheel(rouletteSpin, popSize);
+        }
+        return;
+    }
+}
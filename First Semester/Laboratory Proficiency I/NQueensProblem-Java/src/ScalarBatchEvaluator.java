@@ -0,0 +1,53 @@
+import java.util.Arrays;
+
+// Batch scoring with the same diagonal counting Chromosome does, one genome at a time.
+// The fallback whenever the Vector API is unavailable, and the long-board path of the
+// vector evaluator.
+public class ScalarBatchEvaluator implements BatchEvaluator
+{
+    private final int mLength;
+    private final int mGenes[];
+    private final int mDiagonals[];
+    private final int mAntiDiagonals[];
+
+    public ScalarBatchEvaluator(final int length)
+    {
+        this.mLength = length;
+        this.mGenes = new int[length];
+        this.mDiagonals = new int[2 * length - 1];
+        this.mAntiDiagonals = new int[2 * length - 1];
+        return;
+    }
+
+    @Override
+    public void evaluate(final Population population, final int from, final int to)
+    {
+        for(int i = from; i < to; i++)
+        {
+            population.copyGenesTo(i, mGenes);
+            population.conflicts(i, conflicts(mGenes));
+        }
+        return;
+    }
+
+    @Override
+    public String description()
+    {
+        return "scalar";
+    }
+
+    // Conflicts of one genome: k * (k - 1) for every diagonal holding k queens.
+    public long conflicts(final int genes[])
+    {
+        long conflicts = 0;
+
+        Arrays.fill(mDiagonals, 0);
+        Arrays.fill(mAntiDiagonals, 0);
+        for(int i = 0; i < mLength; i++)
+        {
+            conflicts += 2 * mDiagonals[i - genes[i] + mLength - 1]++;
+            conflicts += 2 * mAntiDiagonals[i + genes[i]]++;
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,7 @@
+// Chooses the parents for one epoch and writes their indices into parents[0 .. count).
+// An index may appear more than once. Strategies are free to skip the fitness pass;
+// conflicts and statistics are always current.
+public interface SelectionStrategy
+{
+    void select(Population population, EpochStatistics statistics, PopulationTasks tasks, Randomizer random, int parents[], int count);
+}
@@ -0,0 +1,155 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Every solution of one board, found on demand. The bitboard search of BitboardSolver runs
+// on an explicit stack, one frame per column, and pauses after each solution, so only the
+// current path is held no matter how many solutions the board has. Solutions come out in
+// search order as rows[column] arrays; each is a fresh copy the caller may keep.
+// With unique set, only one solution per class of the 8 board symmetries is returned: the
+// one that is lexicographically smallest among its rotations and reflections.
+public class SolutionIterator implements Iterator<int[]>
+{
+    private final int mSize;
+    private final long mFull;
+    private final boolean mUnique;
+    private final long mFree[];                                  // Rows still to try in each column.
+    private final long mTaken[];
+    private final long mDown[];
+    private final long mUp[];
+    private final int mRows[];                                   // Current path.
+    private final int mImage[];                                  // Scratch for the symmetry test.
+    private int mDepth = 0;
+    private boolean mReady = false;                              // mRows holds a solution not yet returned.
+
+    public SolutionIterator(final int size, final boolean unique)
+    {
+        if(size < 1 || size > BitboardSolver.MAX_SIZE){
+            throw new IllegalArgumentException("size must be between 1 and " + BitboardSolver.MAX_SIZE + ": " + size);
+        }
+        this.mSize = size;
+        this.mFull = size == BitboardSolver.MAX_SIZE ? -1L : (1L << size) - 1;
+        this.mUnique = unique;
+        this.mFree = new long[size];
+        this.mTaken = new long[size];
+        this.mDown = new long[size];
+        this.mUp = new long[size];
+        this.mRows = new int[size];
+        this.mImage = new int[size];
+
+        // The smallest image never has its first queen below the middle row, so skip those.
+        if(unique == true){
+            this.mFree[0] = (1L << ((size - 1) / 2 + 1)) - 1;
+        }else{
+            this.mFree[0] = this.mFull;
+        }
+        return;
+    }
+
+    // Sequential, ordered stream over the same search. Close it early with limit() or a
+    // short-circuiting terminal operation to stop the search.
+    public static Stream<int[]> stream(final int size, final boolean unique)
+    {
+        Spliterator<int[]> spliterator = Spliterators.spliteratorUnknownSize(new SolutionIterator(size, unique), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if(mReady == false){
+            mReady = advance();
+        }
+        return mReady;
+    }
+
+    @Override
+    public int[] next()
+    {
+        if(hasNext() == false){
+            throw new NoSuchElementException();
+        }
+        mReady = false;
+        return mRows.clone();
+    }
+
+    // Moves the search to the next solution to return. False once the tree is exhausted.
+    private boolean advance()
+    {
+        long bit = 0;
+        int column = 0;
+
+        while(mDepth >= 0)
+        {
+            column = mDepth;
+            if(mFree[column] == 0){
+                mDepth--;
+                continue;
+            }
+
+            bit = mFree[column] & -mFree[column];
+            mFree[column] ^= bit;
+            mRows[column] = Long.numberOfTrailingZeros(bit);
+
+            if(column == mSize - 1){
+                if(mUnique == false || canonical() == true){
+                    return true;
+                }
+                continue;
+            }
+
+            mTaken[column + 1] = mTaken[column] | bit;
+            mDown[column + 1] = ((mDown[column] | bit) << 1) & mFull;
+            mUp[column + 1] = (mUp[column] | bit) >>> 1;
+            mFree[column + 1] = ~(mTaken[column + 1] | mDown[column + 1] | mUp[column + 1]) & mFull;
+            mDepth++;
+        }
+        return false;
+    }
+
+    // True if no rotation or reflection of mRows is lexicographically smaller. The 8 images
+    // are the board and its transpose (the inverse permutation), each with the columns and
+    // the rows optionally reversed.
+    private boolean canonical()
+    {
+        int last = mSize - 1;
+
+        for(int transform = 1; transform < 8; transform++)
+        {
+            for(int x = 0; x < mSize; x++)
+            {
+                if((transform & 4) == 0){
+                    mImage[x] = mRows[x];
+                }else{
+                    mImage[mRows[x]] = x;
+                }
+            }
+            if(smaller((transform & 1) != 0, (transform & 2) != 0, last) == true){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Compares mImage, with its columns and rows reversed as asked, against mRows.
+    private boolean smaller(final boolean reverseColumns, final boolean reverseRows, final int last)
+    {
+        int value = 0;
+
+        for(int x = 0; x < mSize; x++)
+        {
+            value = mImage[reverseColumns == true ? last - x : x];
+            if(reverseRows == true){
+                value = last - value;
+            }
+            if(value != mRows[x]){
+                return value < mRows[x];
+            }
+        }
+        return false;
+    }
+}
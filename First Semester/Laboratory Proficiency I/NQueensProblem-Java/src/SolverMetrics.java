@@ -0,0 +1,99 @@
+// Where a solver's time goes, stage by stage, plus how many genomes it has scored.
+// Stages are timed around whole passes, never per individual, so the cost is a few
+// System.nanoTime() calls per epoch. Each NQueen owns one; it is not thread-safe.
+public class SolverMetrics
+{
+    public static final int SELECTION = 0;                       // Parent choice, fitness scaling included.
+    public static final int MATING = 1;                          // Crossover and storing the children.
+    public static final int MUTATION = 2;                        // Exchange mutation and any memetic step.
+    public static final int FITNESS = 3;                         // Population statistics passes.
+    public static final int SURVIVAL = 4;                        // Replacing the worst with offspring.
+    public static final int STAGES = 5;
+
+    private static final String NAMES[] = {"selection", "mating", "mutation", "fitness", "survival"};
+
+    private final long mNanos[] = new long[STAGES];
+    private long mEvaluations = 0;                               // Genomes scored: start population and every child.
+    private long mStarted = System.nanoTime();
+
+    public void reset()
+    {
+        for(int i = 0; i < STAGES; i++)
+        {
+            mNanos[i] = 0;
+        }
+        mEvaluations = 0;
+        mStarted = System.nanoTime();
+        return;
+    }
+
+    // Picks up a resumed run's totals, so rates and the stage summary cover the whole run.
+    public void restore(final long nanos[], final long evaluations, final long elapsedNanos)
+    {
+        for(int i = 0; i < STAGES; i++)
+        {
+            mNanos[i] = nanos[i];
+        }
+        mEvaluations = evaluations;
+        mStarted = System.nanoTime() - elapsedNanos;
+        return;
+    }
+
+    public void add(final int stage, final long nanos)
+    {
+        mNanos[stage] += nanos;
+        return;
+    }
+
+    public void evaluations(final int count)
+    {
+        mEvaluations += count;
+        return;
+    }
+
+    public long nanos(final int stage)
+    {
+        return mNanos[stage];
+    }
+
+    public long evaluations()
+    {
+        return mEvaluations;
+    }
+
+    public long elapsedNanos()
+    {
+        return System.nanoTime() - mStarted;
+    }
+
+    // Genomes scored per second of wall time since reset().
+    public double evaluationRate()
+    {
+        long elapsed = elapsedNanos();
+
+        if(elapsed <= 0){
+            return 0;
+        }
+        return mEvaluations * 1e9 / elapsed;
+    }
+
+    public static String name(final int stage)
+    {
+        return NAMES[stage];
+    }
+
+    // One line, e.g. "selection 12 ms, mating 40 ms, ...".
+    public String stageSummary()
+    {
+        StringBuilder summary = new StringBuilder();
+
+        for(int i = 0; i < STAGES; i++)
+        {
+            if(i > 0){
+                summary.append(", ");
+            }
+            summary.append(NAMES[i]).append(' ').append(mNanos[i] / 1000000).append(" ms");
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,103 @@
+// Watches a solver's best conflict count from epoch to epoch and turns up the pressure when it
+// stops improving. Every stagnant epoch raises the boost a step, from 1 up to maxBoost by the
+// time patience epochs have gone by; the solver mutates boost times as often, with boost
+// exchanges each time, and scrambles every child with boost - 1 extra swaps after crossover.
+// A population that has lost its diversity stagnates twice as fast. Once patience runs out
+// the solver restarts its worst individuals and the boost falls back to 1; any improvement
+// in the best count does the same without a restart.
+public class StagnationController
+{
+    private final int mPatience;                                 // Stagnant epochs before a restart; 0 switches the controller off.
+    private final int mMaxBoost;
+    private final double mMinDiversity;                          // Below this share of distinct genomes, stagnation counts double.
+    private long mBest = Long.MAX_VALUE;
+    private int mStagnant = 0;
+    private int mBoost = 1;
+    private int mRestarts = 0;
+
+    public StagnationController(final Parameters parameters)
+    {
+        this.mPatience = parameters.stagnationEpochs();
+        this.mMaxBoost = Math.max(1, parameters.maxMutationBoost());
+        this.mMinDiversity = parameters.minDiversity();
+        return;
+    }
+
+    public boolean enabled()
+    {
+        return mPatience > 0;
+    }
+
+    // Records one epoch's result. Returns true when the solver should restart its worst individuals.
+    public boolean observe(final long best, final double diversity)
+    {
+        if(mPatience <= 0){
+            return false;
+        }
+
+        if(best < mBest){
+            mBest = best;
+            mStagnant = 0;
+            mBoost = 1;
+            return false;
+        }
+
+        mStagnant++;
+        if(diversity < mMinDiversity){
+            mStagnant++;
+        }
+
+        if(mStagnant >= mPatience){
+            mStagnant = 0;
+            mBoost = 1;
+            mRestarts++;
+            return true;
+        }
+        mBoost = 1 + (int)((long)(mMaxBoost - 1) * mStagnant / mPatience);
+        return false;
+    }
+
+    // Multiplier on the mutation rate, and exchanges per mutation; 1 while the search is moving.
+    public int boost()
+    {
+        return mBoost;
+    }
+
+    // Extra random swaps for every child after crossover.
+    public int disruption()
+    {
+        return mBoost - 1;
+    }
+
+    public int restarts()
+    {
+        return mRestarts;
+    }
+
+    // Best count seen and stagnant epochs since, for checkpoints.
+    public long best()
+    {
+        return mBest;
+    }
+
+    public int stagnant()
+    {
+        return mStagnant;
+    }
+
+    // Back to the state of a new controller, for a fresh run.
+    public void reset()
+    {
+        restore(Long.MAX_VALUE, 0, 1, 0);
+        return;
+    }
+
+    public void restore(final long best, final int stagnant, final int boost, final int restarts)
+    {
+        mBest = best;
+        mStagnant = stagnant;
+        mBoost = boost;
+        mRestarts = restarts;
+        return;
+    }
+}
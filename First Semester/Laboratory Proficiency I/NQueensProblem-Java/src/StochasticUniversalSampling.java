@@ -0,0 +1,26 @@
+// Fitness-proportional selection with a single spin and count evenly spaced pointers.
+// Same expected picks as the roulette, far less spread, and one walk over the wheel.
+public class StochasticUniversalSampling extends WheelSelection
+{
+    @Override
+    public void select(final Population population, final EpochStatistics statistics, final PopulationTasks tasks, final Randomizer random, final int parents[], final int count)
+    {
+        int j = 0;
+        int popSize = population.size();
+        double selTotal = buildWheel(population, statistics, tasks);
+        double step = selTotal / count;
+        double pointer = random.nextDouble() * step;
+
+        for(int i = 0; i < count; i++)
+        {
+            // Pointers only move forward, so the wheel is walked once in total.
+            while(j < popSize - 1 && wheel(j) <= pointer)
+            {
+                j++;
+            }
+            parents[i] = j;
+            pointer += step;
+        }
+        return;
+    }
+}
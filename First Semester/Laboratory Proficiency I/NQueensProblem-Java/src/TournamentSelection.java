@@ -0,0 +1,38 @@
+// Each parent is the least-conflicted of tournamentSize random individuals.
+// Works straight off the conflicts column, so no fitness or normalisation pass is needed.
+// Larger tournaments mean stronger selection pressure.
+public class TournamentSelection implements SelectionStrategy
+{
+    private final int mTournamentSize;
+
+    public TournamentSelection(final int tournamentSize)
+    {
+        if(tournamentSize < 1){
+            throw new IllegalArgumentException("tournamentSize must be at least 1: " + tournamentSize);
+        }
+        this.mTournamentSize = tournamentSize;
+        return;
+    }
+
+    @Override
+    public void select(final Population population, final EpochStatistics statistics, final PopulationTasks tasks, final Randomizer random, final int parents[], final int count)
+    {
+        int popSize = population.size();
+        int winner = 0;
+        int challenger = 0;
+
+        for(int i = 0; i < count; i++)
+        {
+            winner = random.nextInt(popSize);
+            for(int j = 1; j < mTournamentSize; j++)
+            {
+                challenger = random.nextInt(popSize);
+                if(population.conflicts(challenger) < population.conflicts(winner)){
+                    winner = challenger;
+                }
+            }
+            parents[i] = winner;
+        }
+        return;
+    }
+}
@@ -0,0 +1,58 @@
+// Shared base for the fitness-proportional strategies.
+// Scales fitness, normalises it into selection probabilities that add up to 100,
+// and lays them out as a cumulative wheel once per epoch.
+public abstract class WheelSelection implements SelectionStrategy
+{
+    private double mWheel[] = new double[0];                     // Running total of selection probability, one slot per individual.
+
+    // Returns the wheel's total, which is the upper bound for a spin.
+    protected double buildWheel(final Population population, final EpochStatistics statistics, final PopulationTasks tasks)
+    {
+        int popSize = population.size();
+        double genTotal = 0.0;
+        double selTotal = 0.0;
+
+        tasks.scaleFitness(population, statistics);
+
+        genTotal = tasks.fitnessTotal(population);
+
+        genTotal *= 0.01;
+
+        tasks.assignSelectionProbability(population, genTotal);
+
+        if(mWheel.length < popSize){
+            mWheel = new double[popSize];
+        }
+        for(int i = 0; i < popSize; i++)
+        {
+            selTotal += population.selectionProbability(i);
+            mWheel[i] = selTotal;
+        }
+        return selTotal;
+    }
+
+    protected double wheel(final int index)
+    {
+        return mWheel[index];
+    }
+
+    // Returns the first individual whose running total passes the spin.
+    // Individuals with zero probability add nothing to the total and can never be hit.
+    protected int spinWheel(final double rouletteSpin, final int popSize)
+    {
+        int low = 0;
+        int high = popSize - 1;
+        int mid = 0;
+
+        while(low < high)
+        {
+            mid = (low + high) >>> 1;
+            if(mWheel[mid] > rouletteSpin){
+                high = mid;
+            }else{
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}